@@ -0,0 +1,80 @@
+package archive;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import board.Board;
+import board.Move;
+import exceptions.ArchiveException;
+import exceptions.PromotionException;
+
+/**
+ * Partida lida de um arquivo de partidas. As jogadas ficam na forma compacta (índices das
+ * jogadas legais) e só são decodificadas ao chamar {@link #getMoves()} ou {@link #replay()}.
+ */
+public class ArchivedGame {
+
+	private final long gameIndex;
+	private final String startFen;
+	private final String result;
+	private final short[] moveIndexes;
+
+	ArchivedGame(long gameIndex, String startFen, String result, short[] moveIndexes) {
+		this.gameIndex = gameIndex;
+		this.startFen = startFen;
+		this.result = result;
+		this.moveIndexes = moveIndexes;
+	}
+
+	public long getGameIndex()
+		{ return gameIndex; }
+
+	public String getStartFen()
+		{ return startFen; }
+
+	/**
+	 * Retorna o resultado da partida ({@code 1-0}, {@code 0-1}, {@code 1/2-1/2} ou {@code *})
+	 */
+	public String getResult()
+		{ return result; }
+
+	public int getTotalMoves()
+		{ return moveIndexes.length; }
+
+	/**
+	 * Retorna o índice da jogada informada na lista de jogadas legais da posição em que ela foi feita
+	 */
+	public int getMoveIndex(int move)
+		{ return moveIndexes[move]; }
+
+	/**
+	 * Decodifica e retorna as jogadas da partida
+	 */
+	public List<Move> getMoves() {
+		List<Move> moves = new ArrayList<>(moveIndexes.length);
+		replay(moves);
+		return Collections.unmodifiableList(moves);
+	}
+
+	/**
+	 * Reproduz a partida e retorna o tabuleiro com a posição final
+	 */
+	public Board replay()
+		{ return replay(null); }
+
+	private Board replay(List<Move> moves) {
+		Board board = Board.fromFen(startFen);
+		for (short index : moveIndexes) {
+			Move move = GameArchive.decodeMove(board, index);
+			try
+				{ board.playMove(move.getSourcePosition(), move.getTargetPosition(), move.getPromotionType()); }
+			catch (PromotionException e)
+				{ throw new ArchiveException("Game " + gameIndex + " - " + e.getMessage()); }
+			if (moves != null)
+				moves.add(move);
+		}
+		return board;
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,76 @@
+package archive;
+
+import java.util.List;
+
+import board.Board;
+import board.Move;
+import enums.PieceType;
+import exceptions.ArchiveException;
+import notation.PgnGame;
+
+/**
+ * Formato binário compacto para arquivar partidas.
+ * <p>
+ * O arquivo de partidas começa com {@link #MAGIC} e a versão do formato. Cada partida tem um
+ * cabeçalho fixo de {@link #GAME_HEADER_SIZE} bytes (total de jogadas, resultado, flags e tamanho da FEN),
+ * seguido da FEN inicial (apenas se não for a posição inicial padrão) e de 2 bytes por jogada,
+ * com o índice da jogada na lista de {@code Board.getLegalMoves()}.
+ * <p>
+ * O arquivo de índice ({@code <arquivo>.idx}) guarda apenas o offset de cada partida (8 bytes),
+ * permitindo acessar a partida N em O(1).
+ */
+public final class GameArchive {
+
+	public static final int MAGIC = 0x43484741; // "CHGA"
+	public static final short VERSION = 1;
+	public static final int FILE_HEADER_SIZE = 8;
+	public static final int GAME_HEADER_SIZE = 8;
+	public static final int INDEX_ENTRY_SIZE = 8;
+	public static final int MAX_MOVES = 16384;
+	public static final int MAX_FEN_LENGTH = 128;
+	public static final String INDEX_EXTENSION = ".idx";
+
+	static final byte FLAG_CUSTOM_FEN = 1;
+
+	private static final String[] RESULTS = { PgnGame.UNKNOWN_RESULT, PgnGame.WHITE_WINS, PgnGame.BLACK_WINS, PgnGame.DRAW };
+
+	private GameArchive() {}
+
+	/**
+	 * Retorna o índice da jogada informada na lista de jogadas legais do tabuleiro.
+	 * Assim como em {@code Board.playMove()}, uma promoção sem o tipo informado é tratada como promoção para rainha.
+	 */
+	public static short encodeMove(Board board, Move move) {
+		List<Move> moves = board.getLegalMoves();
+		int index = moves.indexOf(move);
+		if (index == -1 && move.getPromotionType() == null)
+			index = moves.indexOf(new Move(move.getSourcePosition(), move.getTargetPosition(), PieceType.QUEEN));
+		if (index == -1)
+			throw new ArchiveException(move + " - Illegal move");
+		return (short)index;
+	}
+
+	/**
+	 * Retorna a jogada correspondente ao índice informado na lista de jogadas legais do tabuleiro
+	 */
+	public static Move decodeMove(Board board, int index) {
+		List<Move> moves = board.getLegalMoves();
+		if (index < 0 || index >= moves.size())
+			throw new ArchiveException("Invalid move index: " + index);
+		return moves.get(index);
+	}
+
+	static byte encodeResult(String result) {
+		for (int n = 0; n < RESULTS.length; n++)
+			if (RESULTS[n].equals(result))
+				return (byte)n;
+		throw new ArchiveException(result + " - Invalid game result");
+	}
+
+	static String decodeResult(byte result) {
+		if (result < 0 || result >= RESULTS.length)
+			throw new ArchiveException("Invalid game result code: " + result);
+		return RESULTS[result];
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,130 @@
+package archive;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import board.Board;
+import board.Move;
+import exceptions.ArchiveException;
+import exceptions.PromotionException;
+import notation.PgnGame;
+import notation.San;
+
+/**
+ * Adiciona partidas no final de um arquivo de partidas (e do seu índice), criando os arquivos se necessário
+ */
+public class GameArchiveAppender implements Closeable {
+
+	private final FileChannel archiveChannel;
+	private final FileChannel indexChannel;
+	private final ByteBuffer buffer;
+	private long totalGames;
+
+	public GameArchiveAppender(Path archivePath) throws IOException {
+		if (archivePath == null)
+			throw new NullPointerException("\"archivePath\" is null");
+		Path indexPath = archivePath.resolveSibling(archivePath.getFileName() + GameArchive.INDEX_EXTENSION);
+		archiveChannel = FileChannel.open(archivePath, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		indexChannel = FileChannel.open(indexPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+		buffer = ByteBuffer.allocate(GameArchive.GAME_HEADER_SIZE + GameArchive.MAX_FEN_LENGTH + GameArchive.MAX_MOVES * 2);
+		if (archiveChannel.size() == 0) {
+			buffer.putInt(GameArchive.MAGIC).putShort(GameArchive.VERSION).putShort((short)0).flip();
+			write(archiveChannel, 0);
+		}
+		else
+			GameArchiveReader.checkFileHeader(archiveChannel);
+		totalGames = indexChannel.size() / GameArchive.INDEX_ENTRY_SIZE;
+	}
+
+	/**
+	 * Retorna o total de partidas do arquivo
+	 */
+	public long getTotalGames()
+		{ return totalGames; }
+
+	/**
+	 * Reproduz a partida PGN informada e adiciona ela no arquivo. Retorna o índice da partida no arquivo.
+	 */
+	public long append(PgnGame game) throws IOException {
+		Board board = Board.fromFen(game.getStartFen());
+		short[] moves = new short[game.getMoves().size()];
+		for (int n = 0; n < moves.length; n++) {
+			Move move = San.resolve(board, game.getMoves().get(n));
+			moves[n] = GameArchive.encodeMove(board, move);
+			play(board, move);
+		}
+		return append(game.getStartFen(), moves, game.getResult());
+	}
+
+	/**
+	 * Adiciona no arquivo a partida iniciada na FEN informada com as jogadas informadas.
+	 * Retorna o índice da partida no arquivo.
+	 */
+	public long append(String startFen, List<Move> moves, String result) throws IOException {
+		Board board = Board.fromFen(startFen);
+		short[] indexes = new short[moves.size()];
+		for (int n = 0; n < indexes.length; n++) {
+			indexes[n] = GameArchive.encodeMove(board, moves.get(n));
+			play(board, moves.get(n));
+		}
+		return append(startFen, indexes, result);
+	}
+
+	private synchronized long append(String startFen, short[] moves, String result) throws IOException {
+		if (moves.length > GameArchive.MAX_MOVES)
+			throw new ArchiveException("Games can't have more than " + GameArchive.MAX_MOVES + " moves");
+		byte[] fen = startFen.equals(Board.INITIAL_FEN) ? new byte[0] : startFen.getBytes(StandardCharsets.US_ASCII);
+		if (fen.length > GameArchive.MAX_FEN_LENGTH)
+			throw new ArchiveException(startFen + " - FEN is too long");
+		long offset = archiveChannel.size();
+		buffer.clear();
+		buffer.putInt(moves.length)
+			.put(GameArchive.encodeResult(result))
+			.put(fen.length > 0 ? GameArchive.FLAG_CUSTOM_FEN : 0)
+			.putShort((short)fen.length)
+			.put(fen);
+		for (short move : moves)
+			buffer.putShort(move);
+		buffer.flip();
+		write(archiveChannel, offset);
+		buffer.clear();
+		buffer.putLong(offset).flip();
+		write(indexChannel, indexChannel.size());
+		return totalGames++;
+	}
+
+	private static void play(Board board, Move move) {
+		try
+			{ board.playMove(move.getSourcePosition(), move.getTargetPosition(), move.getPromotionType()); }
+		catch (PromotionException e)
+			{ throw new ArchiveException(move + " - " + e.getMessage()); }
+	}
+
+	private void write(FileChannel channel, long position) throws IOException {
+		while (buffer.hasRemaining())
+			position += channel.write(buffer, position);
+	}
+
+	/**
+	 * Força a gravação das partidas adicionadas no disco
+	 */
+	public void flush() throws IOException {
+		archiveChannel.force(false);
+		indexChannel.force(false);
+	}
+
+	@Override
+	public void close() throws IOException {
+		try
+			{ archiveChannel.close(); }
+		finally
+			{ indexChannel.close(); }
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,120 @@
+package archive;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import board.Board;
+import exceptions.ArchiveException;
+
+/**
+ * Lê partidas de um arquivo de partidas, mapeando o arquivo e o seu índice na memória.
+ * Qualquer partida pode ser acessada em O(1) pelo seu índice. Os arquivos são mapeados em
+ * segmentos, então arquivos maiores que 2 GB também são suportados.
+ * Os mapeamentos são somente leitura, então o leitor pode ser usado por várias threads ao mesmo tempo.
+ * Partidas adicionadas depois da abertura do leitor não são vistas por ele.
+ */
+public class GameArchiveReader implements Closeable {
+
+	private static final long SEGMENT_SIZE = 1L << 30;
+	// Uma partida nunca passa desse tamanho, então toda partida cabe inteira no segmento em que começa
+	private static final long SEGMENT_OVERLAP = GameArchive.GAME_HEADER_SIZE + GameArchive.MAX_FEN_LENGTH + GameArchive.MAX_MOVES * 2;
+
+	private final FileChannel archiveChannel;
+	private final FileChannel indexChannel;
+	private final MappedByteBuffer[] archiveSegments;
+	private final MappedByteBuffer[] indexSegments;
+	private final long archiveSize;
+	private final long totalGames;
+
+	public GameArchiveReader(Path archivePath) throws IOException {
+		if (archivePath == null)
+			throw new NullPointerException("\"archivePath\" is null");
+		Path indexPath = archivePath.resolveSibling(archivePath.getFileName() + GameArchive.INDEX_EXTENSION);
+		archiveChannel = FileChannel.open(archivePath, StandardOpenOption.READ);
+		try {
+			indexChannel = FileChannel.open(indexPath, StandardOpenOption.READ);
+		}
+		catch (IOException e) {
+			archiveChannel.close();
+			throw e;
+		}
+		checkFileHeader(archiveChannel);
+		archiveSize = archiveChannel.size();
+		totalGames = indexChannel.size() / GameArchive.INDEX_ENTRY_SIZE;
+		archiveSegments = map(archiveChannel, archiveSize, SEGMENT_OVERLAP);
+		indexSegments = map(indexChannel, totalGames * GameArchive.INDEX_ENTRY_SIZE, 0);
+	}
+
+	private static MappedByteBuffer[] map(FileChannel channel, long size, long overlap) throws IOException {
+		MappedByteBuffer[] segments = new MappedByteBuffer[(int)((size + SEGMENT_SIZE - 1) / SEGMENT_SIZE)];
+		for (int n = 0; n < segments.length; n++) {
+			long start = n * SEGMENT_SIZE;
+			segments[n] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(size - start, SEGMENT_SIZE + overlap));
+		}
+		return segments;
+	}
+
+	static void checkFileHeader(FileChannel channel) throws IOException {
+		ByteBuffer header = ByteBuffer.allocate(GameArchive.FILE_HEADER_SIZE);
+		while (header.hasRemaining() && channel.read(header, header.position()) > 0);
+		header.flip();
+		if (header.remaining() < GameArchive.FILE_HEADER_SIZE || header.getInt() != GameArchive.MAGIC)
+			throw new ArchiveException("Invalid game archive file");
+		if (header.getShort() != GameArchive.VERSION)
+			throw new ArchiveException("Unsupported game archive version");
+	}
+
+	/**
+	 * Retorna o total de partidas do arquivo
+	 */
+	public long getTotalGames()
+		{ return totalGames; }
+
+	/**
+	 * Retorna a partida com o índice informado
+	 */
+	public ArchivedGame readGame(long gameIndex) {
+		if (gameIndex < 0 || gameIndex >= totalGames)
+			throw new ArchiveException("Invalid game index: " + gameIndex);
+		long entry = gameIndex * GameArchive.INDEX_ENTRY_SIZE;
+		long offset = indexSegments[(int)(entry / SEGMENT_SIZE)].getLong((int)(entry % SEGMENT_SIZE));
+		if (offset < GameArchive.FILE_HEADER_SIZE || offset + GameArchive.GAME_HEADER_SIZE > archiveSize)
+			throw new ArchiveException("Game " + gameIndex + " - Invalid offset: " + offset);
+		MappedByteBuffer segment = archiveSegments[(int)(offset / SEGMENT_SIZE)];
+		int pos = (int)(offset % SEGMENT_SIZE);
+		int totalMoves = segment.getInt(pos);
+		byte result = segment.get(pos + 4);
+		byte flags = segment.get(pos + 5);
+		int fenLength = segment.getShort(pos + 6);
+		if (totalMoves < 0 || totalMoves > GameArchive.MAX_MOVES || fenLength < 0 || fenLength > GameArchive.MAX_FEN_LENGTH ||
+				offset + GameArchive.GAME_HEADER_SIZE + fenLength + totalMoves * 2L > archiveSize)
+					throw new ArchiveException("Game " + gameIndex + " - Corrupted game header");
+		pos += GameArchive.GAME_HEADER_SIZE;
+		String startFen = Board.INITIAL_FEN;
+		if ((flags & GameArchive.FLAG_CUSTOM_FEN) != 0) {
+			byte[] fen = new byte[fenLength];
+			segment.get(pos, fen);
+			startFen = new String(fen, StandardCharsets.US_ASCII);
+			pos += fenLength;
+		}
+		short[] moves = new short[totalMoves];
+		for (int n = 0; n < totalMoves; n++, pos += 2)
+			moves[n] = segment.getShort(pos);
+		return new ArchivedGame(gameIndex, startFen, GameArchive.decodeResult(result), moves);
+	}
+
+	@Override
+	public void close() throws IOException {
+		try
+			{ archiveChannel.close(); }
+		finally
+			{ indexChannel.close(); }
+	}
+
+}
\ No newline at end of file
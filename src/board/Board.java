@@ -1,14 +1,18 @@
 package board;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 
 import enums.ChessPlayMode;
+import enums.GameStatus;
+import enums.MoveResult;
 import enums.PieceColor;
 import enums.PieceType;
 import exceptions.BoardException;
@@ -31,29 +35,67 @@ import pieces.Rook;
 
 public class Board {
 
-	private static List<Board> undoBoards = new ArrayList<>();
-	private static int undoIndex = -1;
+	public static final String INITIAL_FEN = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+	public static final int ENCODED_POSITION_SIZE = 38;
+	private static final PieceType[] ENCODED_PIECE_TYPES = {PieceType.PAWN, PieceType.KNIGHT, PieceType.BISHOP, PieceType.ROOK, PieceType.QUEEN, PieceType.KING};
+	private static final PieceType[] PROMOTION_TYPES = {PieceType.QUEEN, PieceType.ROOK, PieceType.BISHOP, PieceType.KNIGHT};
+	private static final PieceType[] PIECE_TYPES = PieceType.values();
+	private static final int TOTAL_PIECE_LISTS = 12;
+	private static final int PIECE_LIST_CAPACITY = MaterialKey.MAX_COUNT;
+	// Deslocamentos do Mailbox usados para procurar as pedras que atacam uma casa
+	private static final int[] KNIGHT_OFFSETS = {-21, -19, -12, -8, 8, 12, 19, 21};
+	private static final int[] KING_OFFSETS = {-11, -10, -9, -1, 1, 9, 10, 11};
+
+	private List<Board> undoBoards;
+	private int undoIndex;
 
 	private ChessPlayMode playMode;
 	private Map<Piece, Integer> movedTurns;
 	private Boolean lastMoveWasEnPassant;
 	private Boolean lastMoveWasCastling;
 	private Boolean boardWasValidated;
-	private Boolean drawGame;
+	// Apenas a visão do jogador é invertida: o tabuleiro e as posições das pedras ficam sempre na orientação padrão
 	private Boolean swappedBoard;
 	private int turns;
+	private int startingTurns;
 	private int repeatedMoves;
 	private int turnsWithoutCapturesAndPawnMove;
 	private List<Piece> capturedPieces;
-	private List<String> lastBoards;
+	// Chaves das posições desde a última jogada irreversível (captura ou movimento de peão), usadas para detectar repetições
+	private long[] positionKeys;
+	private int totalPositionKeys;
+	private long piecesKey;
+	private long materialKey;
 	private Piece[][] board;
+	// Cópia invertida da grade, retornada pelo getBoard() quando o tabuleiro está invertido
+	private Piece[][] viewBoard;
+	// Listas de casas ocupadas por cor e tipo de pedra (índice de {@link Square}), atualizadas a cada alteração no tabuleiro
+	private int[][] pieceSquares;
+	private int[] totalPiecesByList;
+	private int[] pieceListBySquare;
+	private int[] pieceListIndexBySquare;
 	private Piece selectedPiece;
 	private Piece castlingPiece;
 	private Piece lastCapturedPiece;
 	private Piece lastMovedPiece;
+	// Estado da posição atual (casas no formato de {@link Square}, ou -1), atualizado a cada jogada
+	private int enPassantSquare;
+	private int promotionSquare;
+	private int castlingRights;
+	private int[] castlingRookSquares;
 	private PieceColor currentColorTurn;
 	private PieceColor cpuColor;
 	private ChessAI chessAI;
+	// Situação da posição atual. Fica nula até ser consultada, e volta a ser nula a cada alteração no tabuleiro
+	private GameStatus gameStatus;
+	// Máscaras de destino por casa de origem (bit da casa, ver {@link Square}), válidas enquanto a chave da posição for igual a targetsKey
+	private long[] possibleTargets;
+	private long[] legalTargets;
+	private long possibleTargetsSquares;
+	private Boolean legalTargetsComputed;
+	private long targetsKey;
+	// Posição reaproveitada pelas sobrecargas que recebem casas, lida apenas antes da jogada copiar as posições
+	private final Position squarePosition = new Position(0, 0);
 
 	/**
 	 * Construtor padrão 
@@ -66,6 +108,18 @@ public class Board {
 	 */
 	public Board(int rows, int columns) {
 		board = new Piece[rows][columns];
+		viewBoard = new Piece[rows][columns];
+		pieceSquares = new int[TOTAL_PIECE_LISTS][PIECE_LIST_CAPACITY];
+		totalPiecesByList = new int[TOTAL_PIECE_LISTS];
+		pieceListBySquare = new int[rows * columns];
+		pieceListIndexBySquare = new int[rows * columns];
+		castlingRookSquares = new int[4];
+		positionKeys = new long[128];
+		possibleTargets = new long[rows * columns];
+		legalTargets = new long[rows * columns];
+		legalTargetsComputed = false;
+		undoBoards = new ArrayList<>();
+		undoIndex = -1;
 		capturedPieces = new ArrayList<>();
 		movedTurns = new HashMap<>();
 		playMode = ChessPlayMode.PLAYER_VS_PLAYER;
@@ -79,40 +133,56 @@ public class Board {
 	 */
 	public void reset() {
 		turns = 0;
+		startingTurns = 0;
 		repeatedMoves = 0;
 		turnsWithoutCapturesAndPawnMove = 0;
 		boardWasValidated = false;
 		lastMoveWasEnPassant = false;
 		lastMoveWasCastling = false;
-		drawGame = false;
 		lastCapturedPiece = null;
 		lastMovedPiece = null;
+		enPassantSquare = -1;
+		promotionSquare = -1;
+		castlingRights = 0;
 		selectedPiece = null;
 		currentColorTurn = PieceColor.WHITE;
 		capturedPieces.clear();
 		movedTurns.clear();
-		lastBoards = new ArrayList<>();
 		resetBoard(board);
-		if (swappedBoard)
-			swapSides();
+		resetPositionKeys();
+		swappedBoard = false;
 	}
 	
 	public Boolean isSwappedBoard()
 		{ return swappedBoard; }
 
+	/**
+	 * Inverte a visão do tabuleiro. O tabuleiro e as posições usadas pelos métodos da classe ficam sempre
+	 * na orientação padrão (linha 0 = 8ª fileira): apenas a conversão feita por {@code toViewPosition()}
+	 * e {@code fromViewPosition()} muda, então a inversão não copia nada. Só os métodos usados pela interface
+	 * ({@code getBoard()}, {@code selectPiece()}, {@code checkIfCanMovePieceTo()} e {@code movePieceTo()}
+	 * com uma {@code Position}) trabalham na visão do jogador.
+	 */
 	public void swapSides() {
 		boardWasValidated();
 		swappedBoard = !swappedBoard;
-		Piece[][] tempBoard = new Piece[8][8];
-		for (int n = 0; n < 2; n++)
-			for (int x = 0; x < board.length; x++)
-				for (int y = 0; y < board[x].length; y++)
-					if (n == 0)
-						tempBoard[x][y] = board[x][7 - y];
-					else
-						board[x][y] = tempBoard[x][y];
 	}
 
+	/**
+	 * Converte uma posição do tabuleiro para a posição correspondente na visão do jogador
+	 * (invertida verticalmente, se o tabuleiro estiver invertido)
+	 */
+	public Position toViewPosition(Position position) {
+		validatePosition(position, "position");
+		return new Position(position.getX(), swappedBoard ? 7 - position.getY() : position.getY());
+	}
+
+	/**
+	 * Converte uma posição na visão do jogador para a posição correspondente do tabuleiro
+	 */
+	public Position fromViewPosition(Position viewPosition)
+		{ return toViewPosition(viewPosition); }
+
 	/**
 	 * Retorna a cor das pedras da CPU
 	 */
@@ -145,21 +215,65 @@ public class Board {
 		this.playMode = mode;
 	}
 	
-	public Piece[][] getBoard()
+	/**
+	 * Retorna a grade de pedras na visão do jogador (ver {@code toViewPosition()}), para ser desenhada pela interface.
+	 * Com o tabuleiro invertido, a grade retornada é uma cópia invertida, atualizada a cada chamada.
+	 */
+	public Piece[][] getBoard() {
+		if (!swappedBoard)
+			return board;
+		for (int x = 0; x < 8; x++)
+			for (int y = 0; y < 8; y++)
+				viewBoard[x][7 - y] = board[x][y];
+		return viewBoard;
+	}
+
+	/**
+	 * Retorna a grade de pedras do tabuleiro, sempre na orientação padrão (linha 0 = 8ª fileira), mesmo com o tabuleiro invertido.
+	 * A grade não deve ser alterada: ela é lida direto pela geração de jogadas e pela avaliação.
+	 */
+	public Piece[][] getGrid()
 		{ return board; }
 
 	public static void cloneBoard(Board sourceBoard, Board targetBoard) {
 		validateNullVar(sourceBoard, "sourceBoard");
 		validateNullVar(targetBoard, "targetBoard");
+		targetBoard.copyFrom(sourceBoard);
+	}
+
+	/**
+	 * Copia o estado do tabuleiro informado para este tabuleiro, reaproveitando as listas e o mapa
+	 * já existentes. Assim como no {@code cloneBoard()}, as pedras são compartilhadas entre os tabuleiros,
+	 * e suas posições e total de movimentos são restaurados de acordo com o tabuleiro informado.
+	 */
+	public void copyFrom(Board sourceBoard) {
+		validateNullVar(sourceBoard, "sourceBoard");
+		if (sourceBoard == this)
+			return;
+		Board targetBoard = this;
 		for (int x = 0; x < sourceBoard.board.length; x++)
 			for (int y = 0; y < sourceBoard.board[x].length; y++)
 				if ((targetBoard.board[x][y] = sourceBoard.board[x][y]) != null)
 					targetBoard.board[x][y].getPosition().setPosition(x, y);
+		for (int n = 0; n < TOTAL_PIECE_LISTS; n++)
+			System.arraycopy(sourceBoard.pieceSquares[n], 0, targetBoard.pieceSquares[n], 0, sourceBoard.totalPiecesByList[n]);
+		System.arraycopy(sourceBoard.totalPiecesByList, 0, targetBoard.totalPiecesByList, 0, TOTAL_PIECE_LISTS);
+		System.arraycopy(sourceBoard.pieceListBySquare, 0, targetBoard.pieceListBySquare, 0, pieceListBySquare.length);
+		System.arraycopy(sourceBoard.pieceListIndexBySquare, 0, targetBoard.pieceListIndexBySquare, 0, pieceListIndexBySquare.length);
 		targetBoard.turnsWithoutCapturesAndPawnMove = sourceBoard.turnsWithoutCapturesAndPawnMove;
-		targetBoard.lastBoards = new ArrayList<>(sourceBoard.lastBoards);
-		targetBoard.drawGame = sourceBoard.drawGame;
+		if (targetBoard.positionKeys.length < sourceBoard.totalPositionKeys)
+			targetBoard.positionKeys = new long[sourceBoard.positionKeys.length];
+		System.arraycopy(sourceBoard.positionKeys, 0, targetBoard.positionKeys, 0, sourceBoard.totalPositionKeys);
+		targetBoard.totalPositionKeys = sourceBoard.totalPositionKeys;
+		targetBoard.piecesKey = sourceBoard.piecesKey;
+		targetBoard.materialKey = sourceBoard.materialKey;
+		targetBoard.gameStatus = sourceBoard.gameStatus;
 		targetBoard.swappedBoard = sourceBoard.swappedBoard;
 		targetBoard.lastMovedPiece = sourceBoard.lastMovedPiece;
+		targetBoard.enPassantSquare = sourceBoard.enPassantSquare;
+		targetBoard.promotionSquare = sourceBoard.promotionSquare;
+		targetBoard.castlingRights = sourceBoard.castlingRights;
+		System.arraycopy(sourceBoard.castlingRookSquares, 0, targetBoard.castlingRookSquares, 0, castlingRookSquares.length);
 		targetBoard.boardWasValidated = sourceBoard.boardWasValidated;
 		targetBoard.lastCapturedPiece = sourceBoard.lastCapturedPiece;
 		targetBoard.lastMoveWasEnPassant = sourceBoard.lastMoveWasEnPassant;
@@ -167,16 +281,36 @@ public class Board {
 		targetBoard.castlingPiece = sourceBoard.castlingPiece;
 		targetBoard.selectedPiece = sourceBoard.selectedPiece;
 		targetBoard.currentColorTurn = sourceBoard.currentColorTurn;
-		targetBoard.capturedPieces = new ArrayList<>(sourceBoard.capturedPieces);
+		targetBoard.capturedPieces.clear();
+		targetBoard.capturedPieces.addAll(sourceBoard.capturedPieces);
 		targetBoard.turns = sourceBoard.turns;
+		targetBoard.startingTurns = sourceBoard.startingTurns;
 		targetBoard.repeatedMoves = sourceBoard.repeatedMoves;
 		targetBoard.movedTurns.clear();
-		for (Piece piece : sourceBoard.movedTurns.keySet()) {
-			piece.setMovedTurns(sourceBoard.movedTurns.get(piece));
-			targetBoard.movedTurns.put(piece, sourceBoard.movedTurns.get(piece));
+		for (Map.Entry<Piece, Integer> entry : sourceBoard.movedTurns.entrySet()) {
+			entry.getKey().setMovedTurns(entry.getValue());
+			targetBoard.movedTurns.put(entry.getKey(), entry.getValue());
 		}
 	}
 
+	/**
+	 * Descarta as referências ao estado da partida copiada (as pedras, que são compartilhadas com o tabuleiro
+	 * copiado), chamado ao devolver o tabuleiro ao {@code BoardPool}.
+	 */
+	void clearForPool() {
+		for (Piece[] b : board)
+			Arrays.fill(b, null);
+		for (Piece[] b : viewBoard)
+			Arrays.fill(b, null);
+		capturedPieces.clear();
+		movedTurns.clear();
+		selectedPiece = null;
+		lastMovedPiece = null;
+		lastCapturedPiece = null;
+		castlingPiece = null;
+		gameStatus = null;
+	}
+
 	public Board newClonedBoard() {
 		Board board = new Board();
 		cloneBoard(this, board);
@@ -309,11 +443,12 @@ public class Board {
 			chessAI = new ChessAI(this);
 		if (getTheKing(PieceColor.BLACK) == null || getTheKing(PieceColor.WHITE) == null)
 			throw new BoardException("You must add one King of each color on the board");
-		if (getPieceListByColor(PieceColor.BLACK).size() < 2 ||
-				getPieceListByColor(PieceColor.WHITE).size() < 2)
-					throw new BoardException("You must add at least 2 pieces of each color on the board");
-		if (getPieceList().size() == 64)
+		if (getTotalPieces(PieceColor.BLACK) < 2 || getTotalPieces(PieceColor.WHITE) < 2)
+			throw new BoardException("You must add at least 2 pieces of each color on the board");
+		if (getTotalPieces() == 64)
 			throw new BoardException("The board must have at lest one free slot");
+		updatePositionState();
+		resetPositionKeys();
 		boardWasValidated = true;
 		if (allPiecesAreStucked(PieceColor.WHITE)) {
 			boardWasValidated = false;
@@ -337,7 +472,7 @@ public class Board {
 	}
 
 	private Boolean allPiecesAreStucked(PieceColor color)
-		{ return getPieceList(color, p -> !p.isStucked()).isEmpty(); }
+		{ return !anyPieceMatches(color, p -> !p.isStucked()); }
 
 	private void validatePosition(Position position, String varName) {
 		validateNullVar(position, varName);
@@ -353,23 +488,151 @@ public class Board {
 	private void resetBoard(Piece[][] board) { 
 		for (Piece[] b : board)
 			Arrays.fill(b, null);
+		Arrays.fill(totalPiecesByList, 0);
+		Arrays.fill(pieceListBySquare, -1);
+		piecesKey = 0;
+		materialKey = 0;
 	}
 	
 	public void resetBoard()
 		{ resetBoard(board); }
 
+	private static int getPieceListIndex(PieceColor color, PieceType type)
+		{ return (color == PieceColor.WHITE ? 0 : 6) + type.ordinal(); }
+
+	/**
+	 * Retorna a chave de material da posição atual (total de pedras de cada cor e tipo)
+	 */
+	public long getMaterialKey()
+		{ return materialKey; }
+
+	/**
+	 * Retorna o tipo de final de partida de acordo com o material em jogo
+	 */
+	public MaterialKey.EndgameType getEndgameType()
+		{ return MaterialKey.getEndgameType(materialKey); }
+
+	/**
+	 * Retorna a assinatura do material em jogo (ex: {@code KRPvKR}), usada para selecionar tablebases
+	 */
+	public String getMaterialSignature()
+		{ return MaterialKey.toSignature(materialKey); }
+
+	/**
+	 * Coloca a pedra informada (ou {@code null}) na casa informada, mantendo as listas de pedras atualizadas
+	 */
+	private void setPieceAt(int x, int y, Piece piece) {
+		gameStatus = null;
+		int square = getSquare(x, y);
+		int list = pieceListBySquare[square];
+		if (list != -1) {
+			// Move a última casa da lista para o lugar da casa removida
+			int index = pieceListIndexBySquare[square];
+			int lastSquare = pieceSquares[list][--totalPiecesByList[list]];
+			pieceSquares[list][index] = lastSquare;
+			pieceListIndexBySquare[lastSquare] = index;
+			pieceListBySquare[square] = -1;
+			piecesKey ^= Zobrist.PIECES[list][square];
+			materialKey -= 1L << list * MaterialKey.BITS_PER_COUNT;
+		}
+		board[x][y] = piece;
+		if (piece != null) {
+			list = getPieceListIndex(piece.getColor(), piece.getType());
+			if (totalPiecesByList[list] == PIECE_LIST_CAPACITY)
+				throw new BoardException("There are too many pieces of the same type on the board");
+			pieceListBySquare[square] = list;
+			pieceListIndexBySquare[square] = totalPiecesByList[list];
+			pieceSquares[list][totalPiecesByList[list]++] = square;
+			piecesKey ^= Zobrist.PIECES[list][square];
+			materialKey += 1L << list * MaterialKey.BITS_PER_COUNT;
+		}
+	}
+
+	/**
+	 * Retorna o total de pedras em jogo da cor e tipo informados
+	 */
+	public int getTotalPieces(PieceColor color, PieceType type)
+		{ return totalPiecesByList[getPieceListIndex(color, type)]; }
+
+	/**
+	 * Retorna o total de pedras em jogo da cor informada
+	 */
+	public int getTotalPieces(PieceColor color) {
+		int total = 0;
+		for (PieceType type : PIECE_TYPES)
+			total += getTotalPieces(color, type);
+		return total;
+	}
+
+	/**
+	 * Retorna a pedra da cor e tipo informados que está no índice informado (de 0 até {@code getTotalPieces(color, type) - 1}).
+	 * A ordem das pedras muda conforme as pedras são movidas e capturadas.
+	 */
+	public Piece getPiece(PieceColor color, PieceType type, int index) {
+		int list = getPieceListIndex(color, type);
+		if (index < 0 || index >= totalPiecesByList[list])
+			throw new GameException(index + " - Invalid piece index");
+		return getGridPiece(pieceSquares[list][index]);
+	}
+
+	/**
+	 * Retorna o total de pedras em jogo
+	 */
+	public int getTotalPieces()
+		{ return getTotalPieces(PieceColor.WHITE) + getTotalPieces(PieceColor.BLACK); }
+
+	/**
+	 * Verifica se alguma pedra em jogo da cor informada atende o predicate informado
+	 */
+	private Boolean anyPieceMatches(PieceColor color, Predicate<Piece> predicate) {
+		for (PieceType type : PIECE_TYPES) {
+			int list = getPieceListIndex(color, type);
+			for (int n = 0; n < totalPiecesByList[list]; n++)
+				if (predicate.test(getGridPiece(pieceSquares[list][n])))
+					return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Executa o consumer informado para cada pedra em jogo da cor informada, sem criar listas
+	 */
+	public void forEachPiece(PieceColor color, Consumer<Piece> consumer) {
+		for (PieceType type : PIECE_TYPES) {
+			int list = getPieceListIndex(color, type);
+			for (int n = 0; n < totalPiecesByList[list]; n++)
+				consumer.accept(getGridPiece(pieceSquares[list][n]));
+		}
+	}
+
+	/**
+	 * Executa o consumer informado para cada pedra em jogo, sem criar listas
+	 */
+	public void forEachPiece(Consumer<Piece> consumer) {
+		forEachPiece(PieceColor.WHITE, consumer);
+		forEachPiece(PieceColor.BLACK, consumer);
+	}
+
 	/**
 	 * Retorna o total de turnos jogados até o momento
 	 */
 	public int getTurns()
 		{ return turns; }
+
+	/**
+	 * Retorna o total de meios-lances desde a última captura ou movimento de peão (usado na regra dos 50 movimentos)
+	 */
+	public int getTurnsWithoutCapturesAndPawnMove()
+		{ return turnsWithoutCapturesAndPawnMove; }
 	
 	/**
 	 * Retorna o peão promovido na última rodada (se houver)
 	 */
 	public Piece getPromotedPawn() {
-		List<Piece> list = getPieceList(p -> p.isPawn() && p.getPosition().getY() == getPromotionRow(p));
-		return list.isEmpty() ? null : list.get(0);
+		if (promotionSquare == -1)
+			return null;
+		Piece pawn = getGridPiece(promotionSquare);
+		return pawn != null && pawn.isPawn() ? pawn : null;
 	}
 	
 	/**
@@ -392,31 +655,28 @@ public class Board {
 		PieceColor color = getPromotedPawn().getColor();
 		removePiece(getPromotedPawn().getPosition());
 		addNewPiece(pos, newType, color);
-		checkPossibleDraw();
+		promotionSquare = -1;
 		changeTurn();
+		checkPossibleDraw();
 	}
 	
 	/**
-	 * Retorna a linha onde o peão que moveu 2 pisos iniciais é considerado como
-	 * En Passant, levando em conta se o tabuleiro está invertido ou não
+	 * Retorna a linha onde o peão que moveu 2 pisos iniciais é considerado como En Passant
 	 */
 	public int getEnPassantRow(PieceColor color) {
 		validateNullVar(color, "color");
-		return (color == PieceColor.WHITE && !swappedBoard) ||
-			(color == PieceColor.BLACK && swappedBoard) ? 4 : 3;
+		return color == PieceColor.WHITE ? 4 : 3;
 	}
 	
 	public int getEnPassantRow(Piece piece)
 		{ return getEnPassantRow(piece.getColor()); }
 	
 	/**
-	 * Retorna a linha onde o peão pode ser promovido,
-	 * levando em conta se o tabuleiro está invertido ou não
+	 * Retorna a linha onde o peão pode ser promovido
 	 */
 	public int getPromotionRow(PieceColor color) {
 		validateNullVar(color, "color");
-		return (color == PieceColor.WHITE && !swappedBoard) ||
-			(color == PieceColor.BLACK && swappedBoard) ? 0 : 7;
+		return color == PieceColor.WHITE ? 0 : 7;
 	}
 
 	public int getPromotionRow(Piece piece)
@@ -426,10 +686,10 @@ public class Board {
 	 * Retorna a pedra marcada atualmente como En Passant (se houver)
 	 */
 	public Piece getEnPassantPawn() {
-		List<Piece> list = getOpponentPieceList(piece ->
-			piece.isPawn() && piece.getMovedTurns() == 1 && getLastMovedPiece() == piece &&
-			piece.getPosition().getY() == getEnPassantRow(piece));
-		return list.isEmpty() ? null : list.get(0);
+		if (enPassantSquare == -1)
+			return null;
+		Piece pawn = getGridPiece(enPassantSquare);
+		return pawn != null && pawn == lastMovedPiece && pawn.isPawn(getOpponentColor()) ? pawn : null;
 	}
 	
 	/**
@@ -459,59 +719,151 @@ public class Board {
 		return false;
 	}
 
+	/**
+	 * Verifica se o rei da cor informada ainda tem direito ao roque com a torre do lado informado
+	 */
+	public Boolean hasCastlingRight(PieceColor color, Boolean kingSide)
+		{ return (castlingRights & 1 << getCastlingRightIndex(color, kingSide)) != 0; }
+
+	/**
+	 * Verifica se o rei da cor informada ainda tem direito ao roque com alguma das torres
+	 */
+	public Boolean hasCastlingRight(PieceColor color)
+		{ return hasCastlingRight(color, true) || hasCastlingRight(color, false); }
+
+	private static int getCastlingRightIndex(PieceColor color, Boolean kingSide)
+		{ return (color == PieceColor.WHITE ? 0 : 2) + (kingSide ? 0 : 1); }
+
+	/**
+	 * Recalcula o estado da posição (roques, "En Passant" e promoção pendente) á partir das pedras.
+	 * Usado apenas quando o tabuleiro é montado. Depois disso, o estado é atualizado a cada jogada.
+	 */
+	private void updatePositionState() {
+		clearTargetsCache();
+		castlingRights = 0;
+		for (PieceColor color : PieceColor.values()) {
+			Piece king = getTheKing(color);
+			if (king == null || king.wasMoved())
+				continue;
+			int y = (int)king.getPosition().getY();
+			for (int x = 0; x <= 7; x += 7) {
+				Piece rook = board[x][y];
+				if (rook != null && rook.isRook(color) && !rook.wasMoved()) {
+					castlingRights |= 1 << getCastlingRightIndex(color, x == 7);
+					castlingRookSquares[getCastlingRightIndex(color, x == 7)] = getSquare(x, y);
+				}
+			}
+		}
+		enPassantSquare = -1;
+		if (lastMovedPiece != null)
+			updateEnPassantSquare(lastMovedPiece, lastMovedPiece.getPosition());
+		promotionSquare = -1;
+		for (int x = 0; x < 8 && promotionSquare == -1; x++)
+			for (PieceColor color : PieceColor.values()) {
+				Piece pawn = board[x][getPromotionRow(color)];
+				if (pawn != null && pawn.isPawn(color))
+					promotionSquare = getSquare(x, getPromotionRow(color));
+			}
+	}
+
+	/**
+	 * Atualiza o estado da posição após a pedra informada se mover
+	 */
+	private void updatePositionState(Piece piece, Position sourcePos, Position targetPos) {
+		int sourceSquare = getSquare(sourcePos);
+		int targetSquare = getSquare(targetPos);
+		for (int n = 0; n < castlingRookSquares.length; n++)
+			if ((castlingRights & 1 << n) != 0 &&
+					(castlingRookSquares[n] == sourceSquare || castlingRookSquares[n] == targetSquare))
+						castlingRights &= ~(1 << n);
+		if (piece.isKing())
+			castlingRights &= ~(3 << getCastlingRightIndex(piece.getColor(), true));
+		updateEnPassantSquare(piece, targetPos);
+		promotionSquare = piece.isPawn() && (int)targetPos.getY() == getPromotionRow(piece) ? targetSquare : -1;
+	}
+
+	private void updateEnPassantSquare(Piece piece, Position position) {
+		enPassantSquare = piece.isPawn() && piece.getMovedTurns() == 1 && (int)position.getY() == getEnPassantRow(piece) ?
+			getSquare(position) : -1;
+	}
+
+	/**
+	 * Retorna a torre do roque se o movimento de 2 casas do rei for um roque válido, ou {@code null}
+	 */
 	private Rook checkCastling(Position kingPositionSource, Position kingPositionTarget) {
 		validateNullVar(kingPositionSource, "kingPositionSource");
 		validateNullVar(kingPositionTarget, "kingPositionTarget");
 
-		King king;
-		Rook rook = null;
-		Position kingPosition = new Position(kingPositionSource);
-		Position rookPosition = new Position(kingPositionSource);
-		Boolean toLeft = kingPosition.getX() > kingPositionTarget.getX();
-		if (Math.abs(kingPositionSource.getX() - kingPositionTarget.getX()) != 2)
+		Piece king = getPieceAt(kingPositionSource);
+		if (king == null || !king.isKing() || kingPositionSource.getY() != kingPositionTarget.getY() ||
+				Math.abs(kingPositionSource.getX() - kingPositionTarget.getX()) != 2)
+					return null;
+		Boolean kingSide = kingPositionTarget.getX() > kingPositionSource.getX();
+		int y = getPromotionRow(king.getOpponentColor());
+		if ((int)kingPositionSource.getX() != 4 || (int)kingPositionSource.getY() != y || !canCastle(king.getColor(), kingSide))
 			return null;
+		return (Rook)board[kingSide ? 7 : 0][y];
+	}
 
-		try {
-			king = (King) getPieceAt(kingPositionSource);
-			validateNullVar(king, "");
-			rookPosition.setX(toLeft ? 0 : 7);
-			rook = (Rook) getPieceAt(rookPosition);
-
-			if (!king.isSameColorOf(rook))
-				throw new GameException("king and rook must be from the same color");
-			if (king.wasMoved() || rook.wasMoved() || isChecked())
-				return null;
-		}
-		catch (Exception e)
-			{ return null; }
+	/**
+	 * Verifica se o rei da cor informada pode fazer o roque para o lado informado: o rei e a torre
+	 * precisam estar nas casas iniciais com o direito ao roque, as casas entre eles precisam estar vagas,
+	 * e o rei não pode estar em check nem passar ou parar em uma casa atacada. A casa b só precisa estar
+	 * vaga, pois no roque grande o rei para na casa c.
+	 */
+	public Boolean canCastle(PieceColor color, Boolean kingSide) {
+		validateNullVar(color, "color");
+		validateNullVar(kingSide, "kingSide");
+		int y = getPromotionRow(color.getOppositeColor());
+		Piece king = board[4][y];
+		Piece rook = board[kingSide ? 7 : 0][y];
+		if (!hasCastlingRight(color, kingSide) || king == null || !king.isKing(color) || rook == null || !rook.isRook(color))
+			return false;
+		for (int x = kingSide ? 5 : 1; x < (kingSide ? 7 : 4); x++)
+			if (board[x][y] != null)
+				return false;
+		for (int x = 4; x != (kingSide ? 7 : 1); x += kingSide ? 1 : -1)
+			if (isSquareAttacked(Square.of(x, 7 - y), color.getOppositeColor()))
+				return false;
+		return true;
+	}
 
-		Board recBoard = newClonedBoard();
-		
-		try {
-			while (true) {
-				removePiece(kingPosition);
-				kingPosition.incX(toLeft ? -1 : 1);
-				if (!isFreeSlot(kingPosition)) {
-					cloneBoard(recBoard, this);
-					return null;
-				}
-				addPiece(kingPosition, king);
-				if (isChecked()) {
-					cloneBoard(recBoard, this);
-					return null;
-				}
-				else if (kingPosition.getX() == (toLeft ? 1 : 6)) {
-					cloneBoard(recBoard, this);
-					return rook;
+	/**
+	 * Verifica se alguma pedra da cor informada ataca a casa informada (ver {@link Square}), esteja ela
+	 * vaga ou não. As casas são lidas direto da grade, sem gerar os movimentos das pedras e sem alterar o tabuleiro.
+	 */
+	public Boolean isSquareAttacked(int square, PieceColor color) {
+		Square.validate(square);
+		validateNullVar(color, "color");
+		int from = Mailbox.toIndex(square);
+		for (int offset : KNIGHT_OFFSETS) {
+			Piece piece = getGridPiece(Mailbox.toSquare(from + offset));
+			if (piece != null && piece.isKnight(color))
+				return true;
+		}
+		for (int offset : KING_OFFSETS) {
+			Boolean diagonal = Math.abs(offset) == 9 || Math.abs(offset) == 11;
+			for (int index = from + offset, distance = 1; Mailbox.toSquare(index) != Square.NONE; index += offset, distance++) {
+				Piece piece = getGridPiece(Mailbox.toSquare(index));
+				if (piece == null)
+					continue;
+				if (piece.getColor() == color) {
+					PieceType type = piece.getType();
+					if (type == PieceType.QUEEN || type == (diagonal ? PieceType.BISHOP : PieceType.ROOK))
+						return true;
+					// Os peões brancos atacam a casa vindo de uma fileira abaixo, e os pretos de uma fileira acima
+					if (distance == 1 && (type == PieceType.KING ||
+							(type == PieceType.PAWN && diagonal && offset < 0 == (color == PieceColor.WHITE))))
+								return true;
 				}
+				break;
 			}
 		}
-		catch (Exception e) {
-			cloneBoard(this, recBoard);
-			return null;
-		}
-		
+		return false;
 	}
+
+	private Piece getGridPiece(int square)
+		{ return square == Square.NONE ? null : board[Square.getFile(square)][getGridY(square)]; }
 	
 	/**
 	 * Verifica se a posição informada é uma posição válida no tabuleiro
@@ -527,7 +879,18 @@ public class Board {
 	 */
 	public Boolean pieceIsAtSafePosition(Piece piece) {
 		validateNullVar(piece, "piece");
-		return getPieceList(piece.getOpponentColor(), p -> p.couldCapture(piece)).isEmpty();
+		return !isAttackedByOpponent(piece);
+	}
+
+	/**
+	 * Verifica se alguma pedra adversária pode capturar a pedra informada. Para as pedras no tabuleiro a casa
+	 * é testada direto pelo {@code isSquareAttacked()}, sem gerar os movimentos das pedras adversárias.
+	 */
+	private Boolean isAttackedByOpponent(Piece piece) {
+		Position position = piece.getPosition();
+		if (isValidBoardPosition(position) && board[(int)position.getX()][(int)position.getY()] == piece)
+			return isSquareAttacked(getSquare(position), piece.getOpponentColor());
+		return anyPieceMatches(piece.getOpponentColor(), p -> p.couldCapture(piece));
 	}
 	
 	/**
@@ -567,6 +930,55 @@ public class Board {
 		validateNullVar(position, "position");
 		return !isValidBoardPosition(position) ? null : board[(int)position.getX()][(int)position.getY()];
 	}
+
+	/**
+	 * Retorna a pedra na casa informada (ver {@link Square}), sem alocar objetos
+	 */
+	public Piece getPieceAt(int square) {
+		Square.validate(square);
+		return getGridPiece(square);
+	}
+
+	/**
+	 * Converte a casa informada (ver {@link Square}) para a posição correspondente no tabuleiro
+	 */
+	public Position toPosition(int square) {
+		Square.validate(square);
+		return new Position(Square.getFile(square), getGridY(square));
+	}
+
+	/**
+	 * Converte a posição informada para a casa correspondente (ver {@link Square})
+	 */
+	public int toSquare(Position position) {
+		validatePosition(position, "position");
+		return Square.of((int)position.getX(), 7 - (int)position.getY());
+	}
+
+	/**
+	 * Retorna a linha da grade ({@code board[x][y]}, com a linha 0 sendo a 8ª fileira) da casa informada
+	 */
+	private static int getGridY(int square)
+		{ return 7 - Square.getRank(square); }
+
+	/**
+	 * Retorna a casa (ver {@link Square}) da coluna e linha da grade informadas, sem validá-las.
+	 * Todos os índices e máscaras internos do tabuleiro usam esse formato.
+	 */
+	private static int getSquare(int x, int y)
+		{ return (7 - y) * 8 + x; }
+
+	private static int getSquare(Position position)
+		{ return getSquare((int)position.getX(), (int)position.getY()); }
+
+	/**
+	 * Retorna a posição reaproveitada {@code squarePosition} apontando para a casa informada
+	 */
+	private Position getSquarePosition(int square) {
+		Square.validate(square);
+		squarePosition.setPosition(Square.getFile(square), getGridY(square));
+		return squarePosition;
+	}
 	
 	/**
 	 * Retorna a pedra selecionada no momento
@@ -584,34 +996,36 @@ public class Board {
 		{ selectedPiece = piece; }
 
 	/**
-	 * Seleciona uma pedra na posição informada
+	 * Seleciona uma pedra na posição informada, na visão do jogador (ver {@code fromViewPosition()})
 	 */
-	public Piece selectPiece(Position position) throws PieceSelectionException {
+	public Piece selectPiece(Position viewPosition) throws PieceSelectionException {
 		boardWasValidated();
-		validatePosition(position, "position");
-		if (isGameOver())
-			throw new PieceSelectionException("The current game was ended");
-		if (isCpuTurn())
-			throw new PieceSelectionException("It's CPU turn! Wait...");
-		if (deadlyKissMate())
-			throw new PieceSelectionException("The current game is ended (Kiss of death mate)");
-		if (checkMate())
-			throw new PieceSelectionException("The current game is ended (Checkmate)");
-		if (drawGame()) {
-			if (isDrawByBareKings())
-				throw new PieceSelectionException("The current game is ended (Draw game by Bare Kings)");
-			if (isDrawByStalemate())
-				throw new PieceSelectionException("The current game is ended (Draw game by Stalemate)");
-			if (isDrawByThreefoldRepetition())
-				throw new PieceSelectionException("The current game is ended (Draw game by Threefold-repetition)");
-			throw new PieceSelectionException("The current game is ended (Draw game)");
+		validatePosition(viewPosition, "viewPosition");
+		Position position = fromViewPosition(viewPosition);
+		switch (getGameStatus()) {
+			case ONGOING:
+				break;
+			case KISS_OF_DEATH_MATE:
+				throw new PieceSelectionException("The current game is ended (Kiss of death mate)", false);
+			case CHECKMATE:
+				throw new PieceSelectionException("The current game is ended (Checkmate)", false);
+			case DRAW_BY_BARE_KINGS:
+				throw new PieceSelectionException("The current game is ended (Draw game by Bare Kings)", false);
+			case DRAW_BY_STALEMATE:
+				throw new PieceSelectionException("The current game is ended (Draw game by Stalemate)", false);
+			case DRAW_BY_THREEFOLD_REPETITION:
+				throw new PieceSelectionException("The current game is ended (Draw game by Threefold-repetition)", false);
+			default:
+				throw new PieceSelectionException("The current game is ended (Draw game)", false);
 		}
+		if (isCpuTurn())
+			throw new PieceSelectionException("It's CPU turn! Wait...", false);
 		if (isFreeSlot(position))
-			throw new PieceSelectionException("There is no piece on that position");
+			throw new PieceSelectionException("There is no piece on that position", false);
 		if (getPieceAt(position).getColor() != getCurrentColorTurn())
-			throw new PieceSelectionException("This piece is not yours");
+			throw new PieceSelectionException("This piece is not yours", false);
 		if (getPieceAt(position).isStucked())
-			throw new PieceSelectionException("This piece is stucked");
+			throw new PieceSelectionException("This piece is stucked", false);
 		return (selectedPiece = getPieceAt(position));
 	}
 	
@@ -619,7 +1033,7 @@ public class Board {
 	 * Retorna a cor da pedra vitoriosa (se houver)
 	 */
 	public PieceColor getWinnerColor()
-		{ return checkMate() || deadlyKissMate() ? getOpponentColor() : null; }
+		{ return getGameStatus().isMate() ? getOpponentColor() : null; }
 
 	/**
 	 * Retorna a cor da pedra do turno atual
@@ -653,12 +1067,16 @@ public class Board {
 	
 	private List<Piece> getPieceList(PieceColor color, Predicate<Piece> predicate) {
 		List<Piece> pieceList = new ArrayList<>();
-		for (Piece[] boardColumn : board)
-			for (Piece piece : boardColumn)
-				if (piece != null &&
-						(color == null || piece.isSameColorOf(color)) &&
-						(predicate == null || predicate.test(piece)))
-							pieceList.add(piece);
+		if (color == null)
+			forEachPiece(piece -> {
+				if (predicate == null || predicate.test(piece))
+					pieceList.add(piece);
+			});
+		else
+			forEachPiece(color, piece -> {
+				if (predicate == null || predicate.test(piece))
+					pieceList.add(piece);
+			});
 		return pieceList;
 	}
 	
@@ -866,15 +1284,25 @@ public class Board {
 		validateNullVar(piece, "piece");
 		if (!isFreeSlot(position))
 			throw new InvalidPositionException("The slot at this position is not free");
-		board[(int)position.getX()][(int)position.getY()] = piece;
+		setPieceAt((int)position.getX(), (int)position.getY(), piece);
 		piece.getPosition().setPosition(position);
 	}
 
+	public void addPiece(int square, Piece piece) {
+		Square.validate(square);
+		validateNullVar(piece, "piece");
+		int x = Square.getFile(square), y = getGridY(square);
+		if (board[x][y] != null)
+			throw new InvalidPositionException("The slot at this position is not free");
+		setPieceAt(x, y, piece);
+		piece.getPosition().setPosition(x, y);
+	}
+
 	private void removePiece(Position position) { 
 		validatePosition(position, "position");
 		if (isFreeSlot(position))
 			throw new InvalidPositionException("There's no piece at this slot position");
-		board[(int)position.getX()][(int)position.getY()] = null;
+		setPieceAt((int)position.getX(), (int)position.getY(), null);
 	}
 	
 	public void removePiece(Piece piece)
@@ -894,11 +1322,9 @@ public class Board {
 		boardWasValidated();
 		validatePosition(sourcePos, "sourcePos");
 		validatePosition(targetPos, "targetPos");
-		sourcePos = new Position(sourcePos);
-		targetPos = new Position(targetPos);
 		
 		if (pawnWasPromoted())
-			throw new InvalidMoveException("You must promote the pawn");
+			throw newMoveException(MoveResult.PENDING_PROMOTION);
 
 		if (selectedPiece != null && targetPos.equals(selectedPiece.getPosition())) {
 			//Se o slot de destino for o mesmo da pedra selecionada, desseleciona ela
@@ -906,143 +1332,477 @@ public class Board {
 			return null;
 		}
 		
-		Boolean checked = isChecked();
-		Piece sourcePiece = getPieceAt(sourcePos);
 		Piece targetPiece = getPieceAt(targetPos);
-		lastMoveWasCastling = lastMoveWasEnPassant = false;
-		lastCapturedPiece = castlingPiece = null;
-		
 		if (selectedPiece != null && targetPiece != null && selectedPiece.isSameColorOf(targetPiece)) {
 			//Se já houver uma pedra selecionada, e clicar em cima de outra pedra da mesma cor, cancela a seleção atual e seleciona a nova pedra
 			selectedPiece = targetPiece;
 			return null;
 		}
 		
-		if (!sourcePiece.canMoveToPosition(targetPos))
-			throw new InvalidMoveException("Invalid move for this piece");
-
-		Board cloneBoard = newClonedBoard();
-
-		// Castling special move
-		if (sourcePiece.isKing() &&
-				(castlingPiece = checkCastling(sourcePos, targetPos)) != null) {
-					removePiece(castlingPiece.getPosition());
-					castlingPiece.getPosition().setPosition(new Position(targetPos));
-					castlingPiece.getPosition().incX(sourcePos.getX() > targetPos.getX() ? 1 : -1);
-					addPiece(castlingPiece.getPosition(), castlingPiece);
-					lastMoveWasCastling = true;
-		}
+		MoveResult result = tryMovePiece(sourcePos, targetPos);
+		if (!result.isLegal())
+			throw newMoveException(result);
+		return lastCapturedPiece;
+	}
 
-		removePiece(sourcePos);
+	/**
+	 * Executa a jogada sem lançar exceções e sem verificar de quem é a vez (usado também nas simulações da CPU).
+	 * Se a jogada for ilegal, o tabuleiro não é alterado e o motivo é retornado.
+	 */
+	MoveResult tryMovePiece(Position sourcePos, Position targetPos) {
+		if (pawnWasPromoted())
+			return MoveResult.PENDING_PROMOTION;
+		sourcePos = new Position(sourcePos);
+		targetPos = new Position(targetPos);
 		
-		if (pieceCanDoEnPassant(selectedPiece) && getEnPassantCapturePosition().equals(targetPos)) {
-			lastMoveWasEnPassant = true;
-			targetPiece = getEnPassantPawn(); // Verifica se o peão atual realizou um movimento de captura EnPassant
-		}
+		Piece sourcePiece = getPieceAt(sourcePos);
+		Piece targetPiece = getPieceAt(targetPos);
+		
+		if (sourcePiece == null)
+			return MoveResult.NO_PIECE;
+		// Algumas pedras listam posições fora do tabuleiro entre os movimentos possíveis
+		if (!isValidBoardPosition(targetPos) || !sourcePiece.canMoveToPosition(targetPos))
+			return MoveResult.INVALID_MOVE;
 
-		if (targetPiece != null) {
-			removePiece(targetPiece.getPosition());
-			addCapturedPiece(targetPiece);
-			lastCapturedPiece = targetPiece;
-		}
+		// O rei só anda 2 casas no roque, então sem um roque válido a jogada é recusada antes de alterar o tabuleiro
+		Rook rook = null;
+		if (sourcePiece.isKing() && Math.abs(sourcePos.getX() - targetPos.getX()) == 2 &&
+				(rook = checkCastling(sourcePos, targetPos)) == null)
+					return MoveResult.INVALID_MOVE;
 
-		addPiece(targetPos, sourcePiece);
-		sourcePiece.incMovedTurns(1);
-		movedTurns.put(sourcePiece, sourcePiece.getMovedTurns());
+		Boolean checked = isChecked();
+		// A cópia é feita antes de limpar o estado da última jogada, para a jogada ilegal restaurá-lo também
+		Board cloneBoard = BoardPool.acquire(this);
+		lastMoveWasCastling = lastMoveWasEnPassant = false;
+		lastCapturedPiece = castlingPiece = null;
+
+		try {
+			// Castling special move
+			if (rook != null) {
+				castlingPiece = rook;
+				removePiece(castlingPiece.getPosition());
+				castlingPiece.getPosition().setPosition(new Position(targetPos));
+				castlingPiece.getPosition().incX(sourcePos.getX() > targetPos.getX() ? 1 : -1);
+				addPiece(castlingPiece.getPosition(), castlingPiece);
+				lastMoveWasCastling = true;
+			}
 
-		if (isChecked()) {
-			cloneBoard(cloneBoard, this);
-			throw new CheckException(!checked ? "You can't put yourself in check" : "You'll still checked after this move");
+			removePiece(sourcePos);
+		
+			if (pieceCanDoEnPassant(sourcePiece) && getEnPassantCapturePosition().equals(targetPos)) {
+				lastMoveWasEnPassant = true;
+				targetPiece = getEnPassantPawn(); // Verifica se o peão atual realizou um movimento de captura EnPassant
+			}
+
+			if (targetPiece != null) {
+				removePiece(targetPiece.getPosition());
+				addCapturedPiece(targetPiece);
+				lastCapturedPiece = targetPiece;
+			}
+
+			addPiece(targetPos, sourcePiece);
+			sourcePiece.incMovedTurns(1);
+			movedTurns.put(sourcePiece, sourcePiece.getMovedTurns());
+
+			if (isChecked()) {
+				cloneBoard(cloneBoard, this);
+				return checked ? MoveResult.STILL_CHECKED : MoveResult.SELF_CHECK;
+			}
 		}
+		finally
+			{ BoardPool.release(cloneBoard); }
 			
 		lastMovedPiece = sourcePiece;
+		updatePositionState(sourcePiece, sourcePos, targetPos);
 		if (!pawnWasPromoted()) {
 			changeTurn();
 			checkPossibleDraw();
 		}
 		
-		return targetPiece;
+		return MoveResult.OK;
+	}
+
+	/**
+	 * Cria a exceção correspondente ao resultado de uma jogada ilegal. A exceção é criada sem stack trace,
+	 * pois ela apenas informa o motivo ao jogador.
+	 */
+	private static RuntimeException newMoveException(MoveResult result) {
+		if (result.isCheckViolation())
+			return new CheckException(result.getMessage(), false);
+		return new InvalidMoveException(result.getMessage(), false);
 	}
 	
 	private void checkPossibleDraw() {
-		StringBuilder sb = new StringBuilder();
-		for (Piece[] boardColumn : board)
-			for (Piece piece : boardColumn)
-				if (piece == null)
-					sb.append("[null]");
-				else {
-					sb.append("[");
-					sb.append(piece.getColor().name());
-					sb.append("_");
-					sb.append(piece.getType().name());
-					sb.append("]");
-				}
-		lastBoards.add(sb.toString());
-		int i = lastBoards.size() - 1;
-		if (lastBoards.size() > 4) {
-			if (!lastBoards.get(i).equals(lastBoards.get(i - 4))) {
-				lastBoards.clear();
-				repeatedMoves = 0;
-			}
-			else
-				++repeatedMoves;
-		}
 		if (!pieceWasCaptured() && getLastMovedPiece().getType() != PieceType.PAWN)
 			turnsWithoutCapturesAndPawnMove++;
-		else
+		else {
 			turnsWithoutCapturesAndPawnMove = 0;
+			// Nenhuma posição anterior a uma jogada irreversível pode se repetir
+			totalPositionKeys = 0;
+		}
+		if (totalPositionKeys == positionKeys.length)
+			positionKeys = Arrays.copyOf(positionKeys, positionKeys.length * 2);
+		positionKeys[totalPositionKeys++] = getPositionKey();
+		repeatedMoves = getTotalRepetitions();
+		gameStatus = null;
+	}
+
+	/**
+	 * Descarta o histórico de posições, mantendo apenas a posição atual
+	 */
+	private void resetPositionKeys() {
+		totalPositionKeys = 0;
+		positionKeys[totalPositionKeys++] = getPositionKey();
+		repeatedMoves = 0;
+		gameStatus = null;
+	}
+
+	/**
+	 * Retorna quantas vezes a posição atual já ocorreu antes, desde a última jogada irreversível.
+	 * Apenas as posições com o mesmo jogador da vez (a cada 2 jogadas) são verificadas.
+	 */
+	private int getTotalRepetitions() {
+		long key = positionKeys[totalPositionKeys - 1];
+		int total = 0;
+		for (int n = totalPositionKeys - 3; n >= 0; n -= 2)
+			if (positionKeys[n] == key)
+				total++;
+		return total;
 	}
+
+	/**
+	 * Retorna a chave (hash de Zobrist) da posição atual. Posições com as mesmas pedras nas mesmas casas,
+	 * mesmo jogador da vez, mesmos direitos de roque e mesma possibilidade de "En Passant" têm a mesma chave.
+	 */
+	public long getPositionKey() {
+		long key = piecesKey ^ Zobrist.CASTLING[castlingRights];
+		if (currentColorTurn == PieceColor.BLACK)
+			key ^= Zobrist.BLACK_TO_MOVE;
+		Piece pawn = getEnPassantPawn();
+		if (pawn != null) {
+			// O "En Passant" só altera a posição se algum peão puder de fato fazer a captura
+			int x = (int)pawn.getPosition().getX(), y = (int)pawn.getPosition().getY();
+			for (int n = x - 1; n <= x + 1; n += 2)
+				if (n >= 0 && n < 8 && board[n][y] != null && board[n][y].isPawn(currentColorTurn)) {
+					key ^= Zobrist.EN_PASSANT[x];
+					break;
+				}
+		}
+		return key;
+	}
+
+	/**
+	 * Verifica se a posição atual já ocorreu antes nesta partida (usado nas buscas, onde uma repetição já é considerada empate)
+	 */
+	public Boolean isRepetition()
+		{ return repeatedMoves > 0; }
+
+	/**
+	 * Verifica se a posição atual já ocorreu 3 vezes nesta partida
+	 */
+	public Boolean isThreefoldRepetition()
+		{ return repeatedMoves >= 2; }
 	
 	private boolean aloneKingSurvived50Turns() {
-		return getFriendlyPieceList().size() == 1 && getTheFriendlyKing().getMovedTurns() == 50 ||
-			getOpponentPieceList().size() == 1 && getTheOpponentKing().getMovedTurns() == 50;
+		return getTotalPieces(getCurrentColorTurn()) == 1 && getTheFriendlyKing().getMovedTurns() == 50 ||
+			getTotalPieces(getOpponentColor()) == 1 && getTheOpponentKing().getMovedTurns() == 50;
+	}
+
+	/**
+	 * Verifica se a pedra do turno atual na posição de origem pode ser movida para a posição
+	 * de destino sem deixar o próprio rei em check
+	 */
+	public Boolean isLegalMove(Position sourcePos, Position targetPos) {
+		validatePosition(targetPos, "targetPos");
+		return (legalTargets(sourcePos) & getSquareMask(targetPos)) != 0;
+	}
+
+	/**
+	 * Retorna a máscara de 64 bits com apenas o bit da casa (ver {@link Square}) da posição informada ligado
+	 */
+	public static long getSquareMask(Position position)
+		{ return 1L << getSquare(position); }
+
+	/**
+	 * Retorna as casas para onde a pedra na posição informada pode se mover, sem verificar se a jogada
+	 * deixa o próprio rei em check, como uma máscara de 64 bits (bit da casa, ver {@link Square}).
+	 * Cada máscara é gerada na primeira consulta e fica guardada enquanto a chave da posição não mudar.
+	 */
+	public long getPossibleTargets(Position square) {
+		validatePosition(square, "square");
+		return getCachedPossibleTargets(getSquare(square));
+	}
+
+	/**
+	 * Sobrecarga do {@code getPossibleTargets()} que recebe a casa no formato de {@link Square}
+	 */
+	public long getPossibleTargets(int square)
+		{ return getCachedPossibleTargets(Square.validate(square)); }
+
+	private long getCachedPossibleTargets(int square) {
+		validateTargetsCache();
+		if ((possibleTargetsSquares & 1L << square) == 0) {
+			Piece piece = getGridPiece(square);
+			possibleTargets[square] = piece == null ? 0 : piece.getPossibleTargetsMask();
+			possibleTargetsSquares |= 1L << square;
+		}
+		return possibleTargets[square];
+	}
+
+	/**
+	 * Retorna as casas para onde a pedra do turno atual na posição informada pode ser movida sem deixar
+	 * o próprio rei em check, como uma máscara de 64 bits (bit da casa, ver {@link Square}). As máscaras de todas
+	 * as pedras do turno são geradas juntas na primeira consulta, e ficam guardadas enquanto a chave da
+	 * posição não mudar. Usado para destacar na interface os destinos da pedra selecionada.
+	 */
+	public long legalTargets(Position square) {
+		validatePosition(square, "square");
+		return getCachedLegalTargets(getSquare(square));
+	}
+
+	/**
+	 * Sobrecarga do {@code legalTargets()} que recebe a casa no formato de {@link Square}
+	 */
+	public long legalTargets(int square)
+		{ return getCachedLegalTargets(Square.validate(square)); }
+
+	private long getCachedLegalTargets(int square) {
+		boardWasValidated();
+		if (pawnWasPromoted())
+			return 0;
+		validateTargetsCache();
+		if (!legalTargetsComputed) {
+			computeLegalTargets();
+			// As jogadas testadas passam por outras posições, que descartam as máscaras da posição atual
+			validateTargetsCache();
+			legalTargetsComputed = true;
+		}
+		return legalTargets[square];
+	}
+
+	private void computeLegalTargets() {
+		Position sourcePos = new Position(0, 0);
+		Position targetPos = new Position(0, 0);
+		for (int square = 0; square < Square.TOTAL; square++) {
+			long legal = 0;
+			Piece piece = getGridPiece(square);
+			if (piece != null && piece.getColor() == currentColorTurn) {
+				sourcePos.setPosition(Square.getFile(square), getGridY(square));
+				for (long targets = getCachedPossibleTargets(square); targets != 0; targets &= targets - 1) {
+					int target = Long.numberOfTrailingZeros(targets);
+					targetPos.setPosition(Square.getFile(target), getGridY(target));
+					if (testMove(sourcePos, targetPos))
+						legal |= 1L << target;
+				}
+			}
+			legalTargets[square] = legal;
+		}
+	}
+
+	/**
+	 * Descarta as máscaras guardadas se a chave da posição mudou
+	 */
+	private void validateTargetsCache() {
+		long key = getPositionKey();
+		if (key != targetsKey) {
+			targetsKey = key;
+			clearTargetsCache();
+		}
 	}
 
 	/**
-	 * Returna se é possível executar o método {@code movePieceTo()} com sucesso
+	 * Descarta as máscaras de destino guardadas. Deve ser chamado quando o tabuleiro for alterado
+	 * sem alterar a chave da posição (como ao inverter o tabuleiro ou trocar a cor de uma pedra).
 	 */
-	public Boolean checkIfCanMovePieceTo(Position targetPos) {
-		Board recBoard = newClonedBoard();
+	void clearTargetsCache() {
+		possibleTargetsSquares = 0;
+		legalTargetsComputed = false;
+	}
+
+	private Boolean testMove(Position sourcePos, Position targetPos) {
+		Board recBoard = BoardPool.acquire(this);
 		try
-			{ movePieceTo(targetPos, true); }
-		catch (Exception e) {
+			{ return tryMovePiece(sourcePos, targetPos).isLegal(); }
+		finally {
 			cloneBoard(recBoard, this);
-			return false;
+			BoardPool.release(recBoard);
 		}
-		cloneBoard(recBoard, this);
-		return true;
+	}
+
+	/**
+	 * Tenta executar a jogada da pedra do turno atual na posição de origem para a posição de destino,
+	 * sem seleção de pedra e sem salvar o tabuleiro para o undo. Ao invés de lançar uma exceção quando
+	 * a jogada é ilegal, retorna o motivo e mantém o tabuleiro inalterado.
+	 */
+	public MoveResult tryMove(Position sourcePos, Position targetPos) {
+		boardWasValidated();
+		validatePosition(sourcePos, "sourcePos");
+		validatePosition(targetPos, "targetPos");
+		Piece piece = getPieceAt(sourcePos);
+		if (piece == null || piece.getColor() != currentColorTurn)
+			return MoveResult.NO_PIECE;
+		return tryMovePiece(sourcePos, targetPos);
+	}
+
+	/**
+	 * Sobrecarga do {@code tryMove()} que recebe as casas de origem e destino (ver {@link Square})
+	 */
+	public MoveResult tryMove(int sourceSquare, int targetSquare) {
+		boardWasValidated();
+		Square.validate(targetSquare);
+		Piece piece = getPieceAt(sourceSquare);
+		if (piece == null || piece.getColor() != currentColorTurn)
+			return MoveResult.NO_PIECE;
+		return tryMovePiece(piece.getPosition(), getSquarePosition(targetSquare));
+	}
+
+	/**
+	 * Retorna a lista das jogadas legais do turno atual, sempre na mesma ordem: pedras e destinos
+	 * ordenados pela posição no tabuleiro (coluna e depois linha), e promoções na ordem rainha,
+	 * torre, bispo e cavalo. Essa ordem permite identificar uma jogada apenas pelo seu índice na lista.
+	 */
+	public List<Move> getLegalMoves()
+		{ return getMoves(true); }
+
+	/**
+	 * Retorna a lista das jogadas do turno atual sem verificar se elas deixam o próprio rei em check
+	 * (ver {@code getPossibleTargets()}), na mesma ordem do {@code getLegalMoves()}. Usado pela busca,
+	 * que só testa a jogada ao executá-la: o {@code tryMove()} recusa as ilegais sem alterar o tabuleiro.
+	 */
+	public List<Move> getPseudoLegalMoves()
+		{ return getMoves(false); }
+
+	private List<Move> getMoves(Boolean legal) {
+		boardWasValidated();
+		List<Move> moves = new ArrayList<>();
+		if (pawnWasPromoted())
+			return moves;
+		Position targetPos = new Position(0, 0);
+		for (int x = 0; x < 8; x++)
+			for (int y = 0; y < 8; y++) {
+				Piece piece = board[x][y];
+				if (piece == null || piece.getColor() != currentColorTurn)
+					continue;
+				Position sourcePos = new Position(x, y);
+				int square = getSquare(x, y);
+				for (long targets = legal ? getCachedLegalTargets(square) : getCachedPossibleTargets(square); targets != 0; targets &= targets - 1) {
+					int target = Long.numberOfTrailingZeros(targets);
+					targetPos.setPosition(Square.getFile(target), getGridY(target));
+					if (piece.isPawn() && getGridY(target) == getPromotionRow(piece))
+						for (PieceType type : PROMOTION_TYPES)
+							moves.add(new Move(sourcePos, targetPos, type));
+					else
+						moves.add(new Move(sourcePos, targetPos));
+				}
+			}
+		return moves;
+	}
+
+	/**
+	 * Executa a jogada informada direto no tabuleiro, sem seleção de pedra, sem verificar se o
+	 * jogo terminou e sem salvar o tabuleiro para o undo. Se a jogada resultar em promoção, o peão
+	 * é promovido para o tipo informado (ou para rainha, se o tipo for {@code null}).
+	 * Usado para reproduzir partidas já jogadas.
+	 */
+	public Piece playMove(Position sourcePos, Position targetPos, PieceType promotionType) throws PromotionException {
+		boardWasValidated();
+		validatePosition(sourcePos, "sourcePos");
+		if (promotionType == PieceType.PAWN || promotionType == PieceType.KING)
+			throw new PromotionException("You can't promote a PAWN to a " + promotionType.name());
+		Piece piece = getPieceAt(sourcePos);
+		if (piece == null || piece.getColor() != currentColorTurn)
+			throw new InvalidMoveException(sourcePos + " - " + MoveResult.NO_PIECE.getMessage(), false);
+		MoveResult result = tryMove(sourcePos, targetPos);
+		if (!result.isLegal())
+			throw newMoveException(result);
+		Piece capturedPiece = lastCapturedPiece;
+		if (pawnWasPromoted())
+			promotePawnTo(promotionType == null ? PieceType.QUEEN : promotionType);
+		return capturedPiece;
+	}
+
+	/**
+	 * Returna se é possível executar o método {@code movePieceTo()} com sucesso, com a posição na visão do jogador
+	 */
+	public Boolean checkIfCanMovePieceTo(Position viewTargetPos) {
+		if (!boardWasValidated || isGameOver() || !pieceIsSelected() || pawnWasPromoted() ||
+				viewTargetPos == null || !isValidBoardPosition(viewTargetPos))
+					return false;
+		Position targetPos = fromViewPosition(viewTargetPos);
+		Piece targetPiece = getPieceAt(targetPos);
+		// Clicar em uma pedra da mesma cor apenas altera a seleção
+		if (targetPiece != null && targetPiece.isSameColorOf(selectedPiece))
+			return true;
+		return (legalTargets(selectedPiece.getPosition()) & getSquareMask(targetPos)) != 0;
 	}
 	
 	/**
-	 * Move a pedra selecionada para a posição informada
+	 * Move a pedra selecionada para a posição informada, na visão do jogador (ver {@code fromViewPosition()})
 	 */
-	public Piece movePieceTo(Position targetPos, Boolean notSaveForUndo) throws PieceSelectionException,PieceMoveException {
+	public Piece movePieceTo(Position viewTargetPos, Boolean notSaveForUndo) throws PieceSelectionException,PieceMoveException {
 		boardWasValidated();
-		if (isGameOver() || drawGame())
-			throw new PieceMoveException("The current game was ended");
+		validatePosition(viewTargetPos, "viewTargetPos");
+		return moveSelectedPieceTo(fromViewPosition(viewTargetPos), notSaveForUndo);
+	}
+
+	/**
+	 * Move a pedra selecionada para a posição do tabuleiro informada (sem a conversão da visão do jogador)
+	 */
+	Piece moveSelectedPieceTo(Position targetPos, Boolean notSaveForUndo) throws PieceSelectionException,PieceMoveException {
+		boardWasValidated();
+		if (isGameOver())
+			throw new PieceMoveException("The current game was ended", false);
 		if (!pieceIsSelected())
-			throw new PieceSelectionException("There's no selected piece to move!");
+			throw new PieceSelectionException("There's no selected piece to move!", false);
 		Piece piece = movePieceTo(getSelectedPiece().getPosition(), targetPos);
 		if (!notSaveForUndo)
 			saveBoardForUndo();
 		return piece;
 	}
 	
-	public Piece movePieceTo(Position targetPos) throws PieceSelectionException,PieceMoveException
-		{ return movePieceTo(targetPos, false); }
+	public Piece movePieceTo(Position viewTargetPos) throws PieceSelectionException,PieceMoveException
+		{ return movePieceTo(viewTargetPos, false); }
+
+	/**
+	 * Move a pedra selecionada para a casa informada (ver {@link Square})
+	 */
+	public Piece movePieceTo(int targetSquare, Boolean notSaveForUndo) throws PieceSelectionException,PieceMoveException
+		{ return moveSelectedPieceTo(getSquarePosition(targetSquare), notSaveForUndo); }
+
+	public Piece movePieceTo(int targetSquare) throws PieceSelectionException,PieceMoveException
+		{ return movePieceTo(targetSquare, false); }
 	
 	private void changeTurn() {
+		gameStatus = null;
 		turns++;
 		selectedPiece = null;
 		currentColorTurn = currentColorTurn.getOppositeColor();
 	}
-	
+
+	/**
+	 * Passa a vez para o adversário sem mover nenhuma pedra ("null move", usado apenas nas buscas).
+	 * O "En Passant" é descartado e o histórico de repetições recomeça na posição resultante.
+	 */
+	public void makeNullMove() {
+		boardWasValidated();
+		if (pawnWasPromoted())
+			throw new BoardException("You can't pass the turn before promoting the pawn");
+		if (isChecked())
+			throw new BoardException("You can't pass the turn while in check");
+		enPassantSquare = -1;
+		lastCapturedPiece = null;
+		lastMoveWasEnPassant = false;
+		lastMoveWasCastling = false;
+		changeTurn();
+		resetPositionKeys();
+	}
+
 	/**
 	 * Verifica se a pedra informada pode capturar alguma pedra adversária
 	 */
 	public Boolean pieceCouldCaptureAnyOpponentPiece(Piece piece) {
 		validateNullVar(piece, "piece");
-		return !getPieceList(piece.getOpponentColor(), p -> piece.couldCapture(p)).isEmpty();
+		return anyPieceMatches(piece.getOpponentColor(), p -> piece.couldCapture(p));
 	}
 
 	/**
@@ -1050,7 +1810,7 @@ public class Board {
 	 */
 	public Boolean pieceCouldBeCapturedByAnyOpponentPiece(Piece piece) {
 		validateNullVar(piece, "piece");
-		return !getPieceList(piece.getOpponentColor(), p -> p.couldCapture(piece)).isEmpty();
+		return isAttackedByOpponent(piece);
 	}
 
 	/**
@@ -1064,18 +1824,18 @@ public class Board {
 	}
 
 	List<Position> testIfIsPossibleToFindAnResult(Piece piece, Predicate<Position> resultWanted) {
-		Board b = newClonedBoard();
+		Board b = BoardPool.acquire(this);
 		List<Position> positions = new ArrayList<>();
-		for (Position position : piece.getPossibleMoves()) {
-			try {
-				movePieceTo(piece.getPosition(), position);
-				if (resultWanted.test(position))
-					positions.add(new Position(position));
-				cloneBoard(b, this);
-			}
-			catch (Exception e)
-				{ cloneBoard(b, this); }
+		try {
+			for (Position position : piece.getPossibleMoves())
+				if (tryMovePiece(piece.getPosition(), position).isLegal()) {
+					if (resultWanted.test(position))
+						positions.add(new Position(position));
+					cloneBoard(b, this);
+				}
 		}
+		finally
+			{ BoardPool.release(b); }
 		return positions.isEmpty() ? null : positions;
 	}
 	
@@ -1086,11 +1846,41 @@ public class Board {
 		return false;
 	}
 	
+	/**
+	 * Retorna a situação da posição atual. Ela é calculada apenas uma vez para cada posição,
+	 * e fica guardada até a próxima alteração no tabuleiro.
+	 */
+	public GameStatus getGameStatus() {
+		if (gameStatus == null)
+			gameStatus = computeGameStatus();
+		return gameStatus;
+	}
+
+	private GameStatus computeGameStatus() {
+		PieceColor color = getCurrentColorTurn();
+		Boolean checked = isChecked();
+		if (checked && !testIfIsPossibleToFindAnResultWithAnyPiece(color, e -> !isChecked(color)))
+			return ((King)getTheKing(color)).isOpponentQueenAround() ? GameStatus.KISS_OF_DEATH_MATE : GameStatus.CHECKMATE;
+		if (materialKey == MaterialKey.BARE_KINGS)
+			return GameStatus.DRAW_BY_BARE_KINGS;
+		if (!checked && kingIsStalemated())
+			return GameStatus.DRAW_BY_STALEMATE;
+		if (isThreefoldRepetition())
+			return GameStatus.DRAW_BY_THREEFOLD_REPETITION;
+		if (turnsWithoutCapturesAndPawnMove >= 100)
+			return GameStatus.DRAW_BY_FIFTY_MOVE_RULE;
+		if (MaterialKey.isInsufficientMaterial(materialKey))
+			return GameStatus.DRAW_BY_INSUFFICIENT_MATING_MATERIAL;
+		if (aloneKingSurvived50Turns())
+			return GameStatus.DRAW_BY_LONE_KING_50_TURNS;
+		return GameStatus.ONGOING;
+	}
+
 	/**
 	 * Verifica se o jogo terminou 'ou por check mate, ou por empate' 
 	 */
 	public Boolean isGameOver()
-		{ return deadlyKissMate() || checkMate() || (drawGame = drawGame()); }
+		{ return getGameStatus().isGameOver(); }
 
 	/**
 	 * Verifica se a cor do turno atual está em check 
@@ -1107,70 +1897,50 @@ public class Board {
 	/**
 	 * Verifica se a cor informada deu mate do beijo fatal no adversário 
 	 */
-	public Boolean deadlyKissMate() {
-		PieceColor color = getCurrentColorTurn();
-		return isChecked() && ((King)getTheKing(color)).isOpponentQueenAround() &&
-				!testIfIsPossibleToFindAnResultWithAnyPiece(getCurrentColorTurn(), e -> !isChecked(color));
-	}
+	public Boolean deadlyKissMate()
+		{ return getGameStatus() == GameStatus.KISS_OF_DEATH_MATE; }
 	
 	/**
 	 * Verifica se a cor informada deu check mate no adversário 
 	 */
-	public Boolean checkMate() {
-		PieceColor color = getCurrentColorTurn();
-		return !deadlyKissMate() && isChecked() &&
-			!testIfIsPossibleToFindAnResultWithAnyPiece(getCurrentColorTurn(), e -> !isChecked(color));
-	}
+	public Boolean checkMate()
+		{ return getGameStatus() == GameStatus.CHECKMATE; }
 	
 	/**
 	 * Verifica se o jogo deu empate 
 	 */
-	public Boolean drawGame() {
-		return getPieceList().size() == 2 || repeatedMoves == 3 || kingIsStalemated() ||
-			aloneKingSurvived50Turns() || turnsWithoutCapturesAndPawnMove == 100 ||
-			isDrawByInsufficientMatingMaterial();
-	}
+	public Boolean drawGame()
+		{ return getGameStatus().isDraw(); }
 	
 	/*
 	 * Retorna {@code true} se o empate foi devido á regra de insuficiência de material (Pedras restantes impossibilitadas de realizar checkmate) 
 	 */
-	public Boolean isDrawByInsufficientMatingMaterial() {
-		PieceColor c;
-		for (int n = 0; n < 2; n++) {
-			c = n == 0 ? PieceColor.BLACK : PieceColor.WHITE;
-			final PieceColor color = c;
-			if (getPieceListByColor(color.getOppositeColor()).size() == 1 &&
-					getPieceListByColor(color, p -> p != getTheKing(color)).size() == 1 &&
-					(getPieceListByColor(color, p -> p != getTheKing(color)).get(0).isKing() ||
-					 getPieceListByColor(color, p -> p != getTheKing(color)).get(0).isBishop()))
-						return true;
-		}
-		return false;
-	}
+	public Boolean isDrawByInsufficientMatingMaterial()
+		{ return getGameStatus() == GameStatus.DRAW_BY_INSUFFICIENT_MATING_MATERIAL; }
 	
 	/*
 	 * Retorna {@code true} se o empate foi devido á regra das 50 repetições sem captura e sem movimento de peão 
 	 */
 	public Boolean isDrawByFiftyMoveRule()
-		{ return turnsWithoutCapturesAndPawnMove == 100; }
+		{ return getGameStatus() == GameStatus.DRAW_BY_FIFTY_MOVE_RULE; }
 
 	/*
 	 * Retorna {@code true} se o empate foi devido á só ter sobrado os reis no tabuleiro 
 	 */
 	public Boolean isDrawByBareKings()
-		{ return drawGame && getPieceList().size() == 2; }
+		{ return getGameStatus() == GameStatus.DRAW_BY_BARE_KINGS; }
 	
 	/*
 	 * Retorna {@code true} se o empate foi devido á repetições de movimento 
 	 */
 	public Boolean isDrawByThreefoldRepetition()
-		{ return drawGame && repeatedMoves == 3; }
+		{ return getGameStatus() == GameStatus.DRAW_BY_THREEFOLD_REPETITION; }
 
 	/*
 	 * Retorna {@code true} se o empate foi devido á afogamento (Rei sem possibilidade de movimento, mas não sob risco de captura) 
 	 */
 	public Boolean isDrawByStalemate()
-		{ return drawGame && kingIsStalemated(); }
+		{ return getGameStatus() == GameStatus.DRAW_BY_STALEMATE; }
 	
 	private Boolean kingIsStalemated() {
 		if (isChecked() || getTheFriendlyKing().havePossibleSafeMoves())
@@ -1184,8 +1954,8 @@ public class Board {
 	 * Retorna a pedra correspondente ao rei da cor especificada por parâmetro.
 	 */
 	public Piece getTheKing(PieceColor color) {
-		List<Piece> pieces = getPieceListByColor(color, p -> p.isKing(color));
-		return pieces.isEmpty() ? null : pieces.get(0);
+		int list = getPieceListIndex(color, PieceType.KING);
+		return totalPiecesByList[list] == 0 ? null : getGridPiece(pieceSquares[list][0]);
 	}
 	
 	/**
@@ -1215,28 +1985,29 @@ public class Board {
 		if (!isFreeSlot(position))
 			throw new InvalidPositionException("This board position is not free");
 		
-		Piece piece;
-		if (type == PieceType.KING)
-			piece = new King(this, position, color);
-		else if (type == PieceType.QUEEN) 
-			piece = new Queen(this, position, color);
-		else if (type == PieceType.ROOK) 
-			piece = new Rook(this, position, color);
-		else if (type == PieceType.BISHOP) 
-			piece = new Bishop(this, position, color);
-		else if (type == PieceType.KNIGHT) 
-			piece = new Knight(this, position, color);
-		else 
-			piece = new Pawn(this, position, color);
-
 		if (type == PieceType.KING && getTheKing(color) != null)
 			throw new BoardException("You can't put more than 1 King of each color on the board");
 				
-		board[(int)position.getX()][(int)position.getY()] = piece;
+		Piece piece = newPiece(position, type, color);
+		setPieceAt((int)position.getX(), (int)position.getY(), piece);
 		movedTurns.put(piece, 0);
 		return piece;
 	}
 
+	private Piece newPiece(Position position, PieceType type, PieceColor color) {
+		if (type == PieceType.KING)
+			return new King(this, position, color);
+		if (type == PieceType.QUEEN) 
+			return new Queen(this, position, color);
+		if (type == PieceType.ROOK) 
+			return new Rook(this, position, color);
+		if (type == PieceType.BISHOP) 
+			return new Bishop(this, position, color);
+		if (type == PieceType.KNIGHT) 
+			return new Knight(this, position, color);
+		return new Pawn(this, position, color);
+	}
+
 	/**
 	 * Sobrecarga do método {@code addNewPiece()} que recebe uma coordenada {@code row, column} ao invés de um tipo {@code Position}
 	 */
@@ -1284,6 +2055,384 @@ public class Board {
 			}
 	}
 
+	/**
+	 * Cria um novo tabuleiro á partir de uma posição no formato FEN (Forsyth-Edwards Notation)
+	 */
+	public static Board fromFen(String fen) {
+		Board board = new Board();
+		board.loadFen(fen);
+		return board;
+	}
+
+	/**
+	 * Define todas as pedras e o estado do tabuleiro (turno, roques, En Passant e contadores de jogadas)
+	 * á partir de uma posição no formato FEN. A posição é lida em uma única passada e os campos são
+	 * definidos diretamente, sem passar pelas validações do {@code addNewPiece()}. Os contadores de
+	 * jogadas são opcionais. O tabuleiro já fica pronto para jogar, com o histórico de undo começando na posição carregada.
+	 * Se a FEN for inválida, a exceção é lançada sem alterar a posição atual.
+	 */
+	public void loadFen(String fen) {
+		validateNullVar(fen, "fen");
+		loadPosition(() -> readFen(fen));
+	}
+
+	/**
+	 * Lê a posição direto neste tabuleiro, com uma cópia da posição atual salva em um tabuleiro do {@code BoardPool}.
+	 * Se a posição lida for inválida, a posição atual é restaurada antes de a exceção ser lançada.
+	 */
+	private void loadPosition(Runnable reader) {
+		Board recBoard = BoardPool.acquire(this);
+		try
+			{ reader.run(); }
+		catch (RuntimeException e) {
+			copyFrom(recBoard);
+			throw e;
+		}
+		finally
+			{ BoardPool.release(recBoard); }
+		if (chessAI == null)
+			chessAI = new ChessAI(this);
+		else
+			chessAI.reset();
+		undoBoards.clear();
+		undoIndex = -1;
+		saveBoardForUndo();
+	}
+
+	private void readFen(String fen) {
+		capturedPieces.clear();
+		movedTurns.clear();
+		resetBoard(board);
+		int whiteKings = 0, blackKings = 0;
+		int i = 0, x = 0, row = 0, len = fen.length();
+		for (; i < len && fen.charAt(i) != ' '; i++) {
+			char c = fen.charAt(i);
+			if (c == '/') {
+				if (x != 8 || ++row > 7)
+					throw new BoardException(fen + " - Invalid FEN piece placement");
+				x = 0;
+			}
+			else if (c >= '1' && c <= '8') {
+				if ((x += c - '0') > 8)
+					throw new BoardException(fen + " - Invalid FEN piece placement");
+			}
+			else {
+				PieceType type = getFenPieceType(c);
+				if (type == null || x > 7)
+					throw new BoardException(fen + " - Invalid FEN piece placement");
+				PieceColor color = Character.isUpperCase(c) ? PieceColor.WHITE : PieceColor.BLACK;
+				if (type == PieceType.KING && color == PieceColor.WHITE)
+					whiteKings++;
+				else if (type == PieceType.KING)
+					blackKings++;
+				putLoadedPiece(x++, row, type, color);
+			}
+		}
+		if (row != 7 || x != 8)
+			throw new BoardException(fen + " - Invalid FEN piece placement");
+		checkLoadedKings(whiteKings, blackKings);
+
+		int end = getFenFieldEnd(fen, i = skipFenSpaces(fen, i));
+		if (end - i != 1 || (fen.charAt(i) != 'w' && fen.charAt(i) != 'b'))
+			throw new BoardException(fen + " - Invalid FEN side to move");
+		currentColorTurn = fen.charAt(i) == 'w' ? PieceColor.WHITE : PieceColor.BLACK;
+
+		end = getFenFieldEnd(fen, i = skipFenSpaces(fen, end));
+		if (i == end)
+			throw new BoardException(fen + " - Missing FEN castling availability");
+		for (; i < end; i++) {
+			char c = fen.charAt(i);
+			if (c == '-' && end - i == 1)
+				break;
+			if (c != 'K' && c != 'Q' && c != 'k' && c != 'q')
+				throw new BoardException(fen + " - Invalid FEN castling availability");
+			setFenCastlingRight(Character.isUpperCase(c) ? PieceColor.WHITE : PieceColor.BLACK, Character.toUpperCase(c) == 'K' ? 7 : 0);
+		}
+
+		lastMovedPiece = null;
+		end = getFenFieldEnd(fen, i = skipFenSpaces(fen, end));
+		if (end - i == 2) {
+			x = fen.charAt(i) - 'a';
+			int rank = fen.charAt(i + 1) - '0';
+			if (x < 0 || x > 7 || rank != (currentColorTurn == PieceColor.WHITE ? 6 : 3))
+				throw new BoardException(fen + " - Invalid FEN en passant target square");
+			setLoadedEnPassantPawn(x);
+		}
+		else if (end - i != 1 || fen.charAt(i) != '-')
+			throw new BoardException(fen + " - Invalid FEN en passant target square");
+
+		int halfMoves = 0, fullMoves = 1;
+		end = getFenFieldEnd(fen, i = skipFenSpaces(fen, end));
+		try {
+			if (i < end) {
+				halfMoves = Integer.parseInt(fen, i, end, 10);
+				end = getFenFieldEnd(fen, i = skipFenSpaces(fen, end));
+				if (i < end)
+					fullMoves = Integer.parseInt(fen, i, end, 10);
+			}
+		}
+		catch (NumberFormatException e)
+			{ throw new BoardException(fen + " - Invalid FEN move counters"); }
+		if (halfMoves < 0 || fullMoves < 1 || skipFenSpaces(fen, end) < len)
+			throw new BoardException(fen + " - Invalid FEN move counters");
+		setLoadedPositionState(halfMoves, fullMoves);
+	}
+
+	private void putLoadedPiece(int x, int y, PieceType type, PieceColor color) {
+		Piece piece = newPiece(new Position(x, y), type, color);
+		// Reis e torres só ficam sem movimento se tiverem direito ao roque, e peões se estiverem na linha inicial
+		if (type == PieceType.KING || type == PieceType.ROOK ||
+				(type == PieceType.PAWN && y != getPawnStartRow(color)))
+					piece.setMovedTurns(1);
+		setPieceAt(x, y, piece);
+	}
+
+	private static void checkLoadedKings(int whiteKings, int blackKings) {
+		if (whiteKings > 1 || blackKings > 1)
+			throw new BoardException("You can't put more than 1 King of each color on the board");
+		if (whiteKings == 0 || blackKings == 0)
+			throw new BoardException("You must add one King of each color on the board");
+	}
+
+	/**
+	 * Marca como "En Passant" o peão do oponente na coluna informada, que acabou de andar 2 casas
+	 */
+	private void setLoadedEnPassantPawn(int x) {
+		Piece pawn = board[x][getEnPassantRow(currentColorTurn.getOppositeColor())];
+		if (pawn == null || !pawn.isPawn(currentColorTurn.getOppositeColor()))
+			throw new BoardException("There's no pawn to be captured by en passant");
+		pawn.setMovedTurns(1);
+		lastMovedPiece = pawn;
+	}
+
+	private void setLoadedPositionState(int halfMoves, int fullMoves) {
+		for (Piece[] boardColumn : board)
+			for (Piece piece : boardColumn)
+				if (piece != null)
+					movedTurns.put(piece, piece.getMovedTurns());
+		updatePositionState();
+		resetPositionKeys();
+		turnsWithoutCapturesAndPawnMove = halfMoves;
+		startingTurns = (fullMoves - 1) * 2 + (currentColorTurn == PieceColor.BLACK ? 1 : 0);
+		turns = 0;
+		repeatedMoves = 0;
+		lastMoveWasEnPassant = false;
+		lastMoveWasCastling = false;
+		lastCapturedPiece = null;
+		castlingPiece = null;
+		selectedPiece = null;
+		boardWasValidated = true;
+	}
+
+	/**
+	 * Retorna a posição atual do tabuleiro no formato FEN (Forsyth-Edwards Notation)
+	 */
+	public String toFen() {
+		StringBuilder sb = new StringBuilder(90);
+		for (int y = 0; y < 8; y++) {
+			int empty = 0;
+			for (int x = 0; x < 8; x++) {
+				Piece piece = board[x][y];
+				if (piece == null)
+					empty++;
+				else {
+					if (empty > 0)
+						sb.append(empty);
+					empty = 0;
+					sb.append(piece.getType().getLet(piece.getColor()));
+				}
+			}
+			if (empty > 0)
+				sb.append(empty);
+			if (y < 7)
+				sb.append('/');
+		}
+		sb.append(currentColorTurn == PieceColor.WHITE ? " w " : " b ");
+		int len = sb.length();
+		if (hasFenCastlingRight(PieceColor.WHITE, 7))
+			sb.append('K');
+		if (hasFenCastlingRight(PieceColor.WHITE, 0))
+			sb.append('Q');
+		if (hasFenCastlingRight(PieceColor.BLACK, 7))
+			sb.append('k');
+		if (hasFenCastlingRight(PieceColor.BLACK, 0))
+			sb.append('q');
+		if (sb.length() == len)
+			sb.append('-');
+		sb.append(' ');
+		Piece enPassantPawn = getEnPassantPawn();
+		if (enPassantPawn == null)
+			sb.append('-');
+		else {
+			int y = (int)enPassantPawn.getPosition().getY();
+			y += getEnPassantRow(enPassantPawn) == 3 ? -1 : 1;
+			sb.append((char)('a' + (int)enPassantPawn.getPosition().getX()));
+			sb.append(8 - y);
+		}
+		sb.append(' ').append(turnsWithoutCapturesAndPawnMove);
+		sb.append(' ').append((startingTurns + turns) / 2 + 1);
+		return sb.toString();
+	}
+
+	/**
+	 * Grava a posição atual no buffer informado, em {@link #ENCODED_POSITION_SIZE} bytes:
+	 * 32 bytes com as pedras (4 bits por casa, de a8 até h1), 1 byte com o turno e os roques,
+	 * 1 byte com a coluna do "En Passant" (ou -1) e 2 bytes para cada contador de jogadas (sem sinal).
+	 * Assim como na FEN, o {@code movedTurns} das pedras fica representado pelos direitos de roque,
+	 * pelo "En Passant" e pela linha dos peões.
+	 */
+	public void encodePosition(ByteBuffer buffer) {
+		boardWasValidated();
+		int fullMoves = (startingTurns + turns) / 2 + 1;
+		if (turnsWithoutCapturesAndPawnMove > 0xFFFF || fullMoves > 0xFFFF)
+			throw new BoardException("Move counters are too high to be encoded");
+		for (int y = 0; y < 8; y++)
+			for (int x = 0; x < 8; x += 2)
+				buffer.put((byte)(encodePiece(board[x][y]) << 4 | encodePiece(board[x + 1][y])));
+		int flags = currentColorTurn == PieceColor.BLACK ? 1 : 0;
+		if (hasFenCastlingRight(PieceColor.WHITE, 7))
+			flags |= 2;
+		if (hasFenCastlingRight(PieceColor.WHITE, 0))
+			flags |= 4;
+		if (hasFenCastlingRight(PieceColor.BLACK, 7))
+			flags |= 8;
+		if (hasFenCastlingRight(PieceColor.BLACK, 0))
+			flags |= 16;
+		Piece enPassantPawn = getEnPassantPawn();
+		buffer.put((byte)flags)
+			.put((byte)(enPassantPawn == null ? -1 : (int)enPassantPawn.getPosition().getX()))
+			.putShort((short)turnsWithoutCapturesAndPawnMove)
+			.putShort((short)fullMoves);
+	}
+
+	/**
+	 * Cria um novo tabuleiro á partir de uma posição gravada por {@link #encodePosition(ByteBuffer)}
+	 */
+	public static Board fromEncodedPosition(ByteBuffer buffer) {
+		Board board = new Board();
+		board.decodePosition(buffer);
+		return board;
+	}
+
+	/**
+	 * Lê do buffer informado uma posição gravada por {@link #encodePosition(ByteBuffer)}.
+	 * Assim como no {@code loadFen()}, o tabuleiro já fica pronto para jogar, com o histórico de undo começando na posição carregada.
+	 * Se a posição for inválida, nem o tabuleiro nem a posição do buffer são alterados.
+	 */
+	public void decodePosition(ByteBuffer buffer) {
+		validateNullVar(buffer, "buffer");
+		if (buffer.remaining() < ENCODED_POSITION_SIZE)
+			throw new BoardException("Encoded position must have " + ENCODED_POSITION_SIZE + " bytes");
+		int start = buffer.position();
+		try
+			{ loadPosition(() -> readEncodedPosition(buffer)); }
+		catch (RuntimeException e) {
+			buffer.position(start);
+			throw e;
+		}
+	}
+
+	private void readEncodedPosition(ByteBuffer buffer) {
+		capturedPieces.clear();
+		movedTurns.clear();
+		resetBoard(board);
+		int whiteKings = 0, blackKings = 0;
+		for (int row = 0; row < 8; row++)
+			for (int x = 0; x < 8; x += 2) {
+				int pieces = buffer.get();
+				for (int n = 0; n < 2; n++) {
+					int code = n == 0 ? pieces >> 4 & 15 : pieces & 15;
+					if (code == 0)
+						continue;
+					int typeIndex = (code & 7) - 1;
+					if (typeIndex < 0 || typeIndex >= ENCODED_PIECE_TYPES.length)
+						throw new BoardException("Invalid encoded piece: " + code);
+					PieceColor color = (code & 8) == 0 ? PieceColor.WHITE : PieceColor.BLACK;
+					if (ENCODED_PIECE_TYPES[typeIndex] == PieceType.KING && color == PieceColor.WHITE)
+						whiteKings++;
+					else if (ENCODED_PIECE_TYPES[typeIndex] == PieceType.KING)
+						blackKings++;
+					putLoadedPiece(x + n, row, ENCODED_PIECE_TYPES[typeIndex], color);
+				}
+			}
+		checkLoadedKings(whiteKings, blackKings);
+		int flags = buffer.get();
+		currentColorTurn = (flags & 1) == 0 ? PieceColor.WHITE : PieceColor.BLACK;
+		if ((flags & 2) != 0)
+			setFenCastlingRight(PieceColor.WHITE, 7);
+		if ((flags & 4) != 0)
+			setFenCastlingRight(PieceColor.WHITE, 0);
+		if ((flags & 8) != 0)
+			setFenCastlingRight(PieceColor.BLACK, 7);
+		if ((flags & 16) != 0)
+			setFenCastlingRight(PieceColor.BLACK, 0);
+		int enPassantX = buffer.get();
+		lastMovedPiece = null;
+		if (enPassantX != -1) {
+			if (enPassantX < 0 || enPassantX > 7)
+				throw new BoardException("Invalid encoded en passant column: " + enPassantX);
+			setLoadedEnPassantPawn(enPassantX);
+		}
+		int halfMoves = buffer.getShort() & 0xFFFF;
+		int fullMoves = buffer.getShort() & 0xFFFF;
+		if (fullMoves < 1)
+			throw new BoardException("Invalid encoded move counters");
+		setLoadedPositionState(halfMoves, fullMoves);
+	}
+
+	private static int encodePiece(Piece piece) {
+		if (piece == null)
+			return 0;
+		int code = 1;
+		while (ENCODED_PIECE_TYPES[code - 1] != piece.getType())
+			code++;
+		return piece.getColor() == PieceColor.BLACK ? code | 8 : code;
+	}
+
+	private int getPawnStartRow(PieceColor color)
+		{ return getPromotionRow(color) == 0 ? 6 : 1; }
+
+	private Boolean hasFenCastlingRight(PieceColor color, int rookX) {
+		int y = getPromotionRow(color.getOppositeColor());
+		Piece king = board[4][y];
+		return king != null && king.isKing(color) &&
+			hasCastlingRight(color, rookX == 7) && castlingRookSquares[getCastlingRightIndex(color, rookX == 7)] == getSquare(rookX, y);
+	}
+
+	private void setFenCastlingRight(PieceColor color, int rookX) {
+		int y = getPromotionRow(color.getOppositeColor());
+		Piece king = board[4][y];
+		Piece rook = board[rookX][y];
+		if (king == null || !king.isKing(color) || rook == null || !rook.isRook(color))
+			throw new BoardException("Invalid FEN castling availability - There's no " + color.name() + " King and Rook at their starting positions");
+		king.setMovedTurns(0);
+		rook.setMovedTurns(0);
+	}
+
+	private static PieceType getFenPieceType(char let) {
+		switch (Character.toUpperCase(let)) {
+			case 'P': return PieceType.PAWN;
+			case 'N': return PieceType.KNIGHT;
+			case 'B': return PieceType.BISHOP;
+			case 'R': return PieceType.ROOK;
+			case 'Q': return PieceType.QUEEN;
+			case 'K': return PieceType.KING;
+			default: return null;
+		}
+	}
+
+	private static int skipFenSpaces(String fen, int i) {
+		while (i < fen.length() && fen.charAt(i) == ' ')
+			i++;
+		return i;
+	}
+
+	private static int getFenFieldEnd(String fen, int i) {
+		while (i < fen.length() && fen.charAt(i) != ' ')
+			i++;
+		return i;
+	}
+
 	public static Position stringToPosition(String position) throws RuntimeException {
 		position = position.toLowerCase();
 		int row = 7 - (Integer.parseInt(position.substring(1)) - 1);
@@ -1293,4 +2442,12 @@ public class Board {
 		return new Position(column, row);
 	}
 
+	/**
+	 * Converte uma posição do tabuleiro para uma {@code String} no formato {@code a1|b2|c3|d4|e5|f6|g7|h8}
+	 */
+	public static String positionToString(Position position) {
+		validateNullVar(position, "position");
+		return "" + (char)('a' + (int)position.getX()) + (8 - (int)position.getY());
+	}
+
 }
\ No newline at end of file
@@ -0,0 +1,42 @@
+package board;
+
+import java.util.ArrayDeque;
+
+/**
+ * Pool de tabuleiros temporários, um para cada thread, usados para salvar e restaurar o tabuleiro
+ * durante os testes de jogadas. Os tabuleiros devolvidos são reaproveitados com {@code Board.copyFrom()},
+ * evitando criar um tabuleiro novo a cada teste. Como o pool é por thread, ele só é reaproveitado por
+ * threads de vida longa: uma thread virtual criada para uma única tarefa começa e termina com o pool vazio.
+ */
+public final class BoardPool {
+
+	private static final int MAX_POOLED_BOARDS = 64;
+	private static final ThreadLocal<ArrayDeque<Board>> POOL = ThreadLocal.withInitial(ArrayDeque::new);
+
+	private BoardPool() {}
+
+	/**
+	 * Retorna um tabuleiro temporário com uma cópia do tabuleiro informado.
+	 * Ele deve ser devolvido com {@link #release(Board)} pela mesma thread quando não for mais usado.
+	 */
+	public static Board acquire(Board source) {
+		Board board = POOL.get().poll();
+		if (board == null)
+			board = new Board();
+		board.copyFrom(source);
+		return board;
+	}
+
+	/**
+	 * Devolve ao pool um tabuleiro obtido com {@link #acquire(Board)}. As referências ao estado
+	 * da partida copiada são descartadas, para o pool não manter partidas antigas em memória.
+	 */
+	public static void release(Board board) {
+		ArrayDeque<Board> pool = POOL.get();
+		if (pool.size() < MAX_POOLED_BOARDS) {
+			board.clearForPool();
+			pool.push(board);
+		}
+	}
+
+}
\ No newline at end of file
@@ -1,10 +1,11 @@
 package board;
 
-import java.security.SecureRandom;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.SplittableRandom;
 import java.util.function.Predicate;
 
 import enums.ChessPlayMode;
@@ -20,11 +21,18 @@ import util.Misc;
 public class ChessAI {
 
 	private Boolean debugging = false;
+	private SplittableRandom random = new SplittableRandom();
 	private Board board = null;
 	private int cpuLastChoice;
 	private Position cpuSelectedPositionToMove;
 	private Map<Piece, List<Position>> ignorePositions;
 	private List<Piece> ignorePieces;
+	// Candidatos reaproveitados a cada escolha da CPU (apenas os primeiros totalCandidates estão em uso)
+	private final List<PossibleMove> candidates = new ArrayList<>();
+	private int totalCandidates;
+	private int disabledChoices;
+	// Listas reaproveitadas a cada teste das jogadas da CPU
+	private final List<Piece> capturingPieces = new ArrayList<>();
  	
 	/**
 	 * Construtor que recebe o tabuleiro atual como parâmetro
@@ -44,6 +52,34 @@ public class ChessAI {
 		ignorePieces = new ArrayList<>();
 	}
 	
+	/**
+	 * Define a semente usada nas escolhas aleatórias da CPU.
+	 * Com a mesma semente e a mesma posição, a CPU sempre escolhe as mesmas jogadas.
+	 */
+	public void setSeed(long seed)
+		{ random = new SplittableRandom(seed); }
+
+	/**
+	 * Define a sequência aleatória usada pela CPU. Para partidas jogadas em paralelo, use uma sequência
+	 * independente para cada uma (obtida com {@code SplittableRandom.split()}).
+	 */
+	public void setRandom(SplittableRandom random) {
+		if (random == null)
+			throw new NullPointerException("\"random\" is null");
+		this.random = random;
+	}
+
+	public int getDisabledChoices()
+		{ return disabledChoices; }
+
+	/**
+	 * Define as lógicas de pontuação desligadas, como uma máscara com os bits das lógicas (os mesmos valores
+	 * listados pelo {@code getChoicesInfo()} dos candidatos). As lógicas desligadas não alteram o score dos candidatos,
+	 * o que permite comparar configurações diferentes da CPU (ver {@code HeuristicMatchEngine}). Padrão: 0 (todas ligadas)
+	 */
+	public void setDisabledChoices(int disabledChoices)
+		{ this.disabledChoices = disabledChoices; }
+
 	public Position cpuSelectedTargetPosition()
 		{ return board.pieceIsSelected() ? cpuSelectedPositionToMove : null; }
 	
@@ -68,9 +104,10 @@ public class ChessAI {
 		for (int n = 1; n < possibleMoves.size(); n++)
 			if (possibleMoves.get(n).getScore() != possibleMoves.get(0).getScore())
 				possibleMoves.remove(n--);
-		int pos = new SecureRandom().nextInt(possibleMoves.size());
+		int pos = random.nextInt(possibleMoves.size());
 		cpuLastChoice = cpuChoice;
-		cpuSelectedPositionToMove = possibleMoves.get(pos).getTargetPosition();
+		// Os candidatos são reaproveitados na próxima escolha, então a posição escolhida é copiada
+		cpuSelectedPositionToMove = new Position(possibleMoves.get(pos).getTargetPosition());
 		board.cpuSelectedPiece(possibleMoves.get(pos).getPiece());
 		if (debugging) {
 			for (PossibleMove pm : possibleMoves2)
@@ -89,20 +126,21 @@ public class ChessAI {
 		}
 	}
 
-	private void tryToMoveTo(Position sourcePos, Position targetPos) {
-		cpuSelectedPositionToMove = new Position(targetPos);
-		board.movePieceTo(sourcePos, targetPos);
-	}
+	/**
+	 * Simula a jogada no tabuleiro, retornando {@code false} (sem alterar o tabuleiro) se ela for ilegal
+	 */
+	private Boolean tryToMoveTo(Position sourcePos, Position targetPos)
+		{ return board.tryMovePiece(sourcePos, targetPos).isLegal(); }
 
-	private void tryToMoveTo(Piece sourcePiece, Position targetPos)
-		{ tryToMoveTo(sourcePiece.getPosition(), targetPos); }
+	private Boolean tryToMoveTo(Piece sourcePiece, Position targetPos)
+		{ return tryToMoveTo(sourcePiece.getPosition(), targetPos); }
 
 	@SuppressWarnings("unused")
-	private void tryToMoveTo(Position sourcePos, Piece targetPiece)
-		{ tryToMoveTo(sourcePos, targetPiece.getPosition()); }
+	private Boolean tryToMoveTo(Position sourcePos, Piece targetPiece)
+		{ return tryToMoveTo(sourcePos, targetPiece.getPosition()); }
 
-	private void tryToMoveTo(Piece sourcePiece, Piece targetPiece)
-		{ tryToMoveTo(sourcePiece.getPosition(), targetPiece.getPosition()); }
+	private Boolean tryToMoveTo(Piece sourcePiece, Piece targetPiece)
+		{ return tryToMoveTo(sourcePiece.getPosition(), targetPiece.getPosition()); }
 
 	private Boolean anyPieceCouldCapture(PieceColor color) {
 		for (Piece piece : board.getPieceListByColor(color))
@@ -116,34 +154,54 @@ public class ChessAI {
 		{ return anyPieceCouldCapture(color.getOppositeColor()); }
 	
 	private List<PossibleMove> testPossibleMoves(PieceColor color, Predicate<PossibleMove> predicate, Boolean startTriesFromStrongestPieces) {
+		Board recBoard = BoardPool.acquire(board);
+		Board b = BoardPool.acquire(board);
+		try
+			{ return testPossibleMoves(color, predicate, startTriesFromStrongestPieces, recBoard, b); }
+		finally {
+			BoardPool.release(b);
+			BoardPool.release(recBoard);
+		}
+	}
+
+	private List<PossibleMove> testPossibleMoves(PieceColor color, Predicate<PossibleMove> predicate, Boolean startTriesFromStrongestPieces, Board recBoard, Board b) {
 		List<PossibleMove> possibleMoves = new ArrayList<>(); 
-		Board recBoard = board.newClonedBoard();
-		List<Piece> pieces = new ArrayList<>(board.sortPieceListByPieceValue(board.getPieceListByColor(color, p -> !ignorePieces.contains(p)), !startTriesFromStrongestPieces));
+		List<Piece> pieces = board.sortPieceListByPieceValue(board.getPieceListByColor(color, p -> !ignorePieces.contains(p)), !startTriesFromStrongestPieces);
 		List<Piece> safePiecesBefore = board.getPieceListByColor(color,
 				p -> board.pieceIsAtSafePosition(p));
 		Piece opponentKing = board.getPieceListByColor(color.getOppositeColor(),
 				p -> p.isSameTypeOf(PieceType.KING)).get(0);
-		List<Position> otherKingThreatenPositions = new ArrayList<>(opponentKing.getPossibleSafeMoves());
+		// Apenas o total de movimentos seguros do rei adversário é comparado, então a lista não é guardada
+		int otherKingSafeMovesBefore = opponentKing.getPossibleSafeMoves().size();
 		float opponentInsightScore = 0;
 		float friendlyInsightScore = 0;
 		int repeatedMovesBefore = board.getTotalRepeatedMoves();
+		Position positionBefore = new Position(0, 0);
+		Position position = new Position(0, 0);
 		for (Piece piece : pieces) {
 			ignorePositions.clear();
-			List<Position> positions = new ArrayList<>(piece.getPossibleMoves());
-			for (Position position : positions)
+			/* O tabuleiro é restaurado após cada jogada testada, então as pedras que ameaçam a pedra
+			 * e os destinos dela (máscara do tabuleiro, ver {@code Board.getPossibleTargets()}) são obtidos uma única vez
+			 */
+			List<Piece> piecesThatCanCaptureTheMovedPiece = getListOfPiecesThatCouldCaptureThis(piece);
+			for (long targets = board.getPossibleTargets(piece.getPosition()); targets != 0; targets &= targets - 1) {
+				int target = Long.numberOfTrailingZeros(targets);
+				position.setPosition(Square.getFile(target), 7 - Square.getRank(target));
 				if (!isIgnoredPosition(piece, position)) {
 					try { // Ultimo valor usado: 134217728
-						List<Piece> piecesThatCanCaptureTheMovedPiece = getListOfPiecesThatCouldCaptureThis(piece);
-						Position positionBefore = new Position(piece.getPosition());
-						tryToMoveTo(piece, position);
-						PossibleMove possibleMove = new PossibleMove(piece, positionBefore, position);
+						positionBefore.setPosition(piece.getPosition());
+						if (!tryToMoveTo(piece, position)) {
+							addIgnorePosition(piece, position);
+							continue;
+						}
+						PossibleMove possibleMove = newPossibleMove(piece, positionBefore, position);
 						possibleMoves.add(possibleMove);
 						if (board.getTotalRepeatedMoves() > repeatedMovesBefore )
 							possibleMove.decScore(1);
-						if (new SecureRandom().nextInt(2) == 0)
+						if (random.nextInt(2) == 0)
 							possibleMove.incScore((long)piece.getIntTypeValue());
 						if (predicate.test(possibleMove)) {
-							Board b = board.newClonedBoard();
+							b.copyFrom(board);
 							Boolean checkMate = board.checkMate() || board.deadlyKissMate();
 							if (board.drawGame()) {
 								// Se a pedra movida resultou em um empate
@@ -188,26 +246,27 @@ public class ChessAI {
 											 * ter capturado ela, testa a captura para ver se após a captura ela ficaria
 											 * segura ou não
 											 */
-											tryToMoveTo(piece, opponentPiece.getPosition());
-											/**
-											 * Se ela de fato poderia ter capturado em segurança, a pedra que a ameaçava,
-											 * e não o fez, decrementa o score, para evitar que ela faça isso
-											 */
-											if (board.pieceIsAtSafePosition(piece))
-													possibleMove.decScore(32, (long)(Long.MAX_VALUE / 7 * piecesThatCanCaptureTheMovedPiece.get(0).getTypeValue()));
-											/**
-											 * Se ela de fato poderia ter capturado em segurança, a pedra que a ameaçava,
-											 * mas poderia ser capturada logo em seguida, e a troca não valeria a pena,
-											 * incrementa o score, para evitar que ela faça isso
-											 */
-											else if (piece.strongerThan(opponentPiece))
-												possibleMove.incScore(67108864, (long)(Long.MAX_VALUE / 9 * board.getLastCapturedPiece().getTypeValue()));
-											/**
-											 * Se ela seria capturada após a captura, mas isso seria por uma troca
-											 * justa, decrementa levemente o score
-											 */
-											else
-												possibleMove.decScore(134217728, (long)(Long.MAX_VALUE / 6 * (piece.getTypeValue() - board.getLastCapturedPiece().getTypeValue())));
+											if (tryToMoveTo(piece, opponentPiece.getPosition())) {
+												/**
+												 * Se ela de fato poderia ter capturado em segurança, a pedra que a ameaçava,
+												 * e não o fez, decrementa o score, para evitar que ela faça isso
+												 */
+												if (board.pieceIsAtSafePosition(piece))
+														possibleMove.decScore(32, (long)(Long.MAX_VALUE / 7 * piecesThatCanCaptureTheMovedPiece.get(0).getTypeValue()));
+												/**
+												 * Se ela de fato poderia ter capturado em segurança, a pedra que a ameaçava,
+												 * mas poderia ser capturada logo em seguida, e a troca não valeria a pena,
+												 * incrementa o score, para evitar que ela faça isso
+												 */
+												else if (piece.strongerThan(opponentPiece))
+													possibleMove.incScore(67108864, (long)(Long.MAX_VALUE / 9 * board.getLastCapturedPiece().getTypeValue()));
+												/**
+												 * Se ela seria capturada após a captura, mas isso seria por uma troca
+												 * justa, decrementa levemente o score
+												 */
+												else
+													possibleMove.decScore(134217728, (long)(Long.MAX_VALUE / 6 * (piece.getTypeValue() - board.getLastCapturedPiece().getTypeValue())));
+											}
 										}
 										Board.cloneBoard(b, board);
 									}
@@ -235,6 +294,7 @@ public class ChessAI {
 											friendlyInsightScore += friendlyPiece.getTypeValue();
 											// Testa se a pedra movida não está cobrindo a pedra em risco de captura (deixou de cobrir a toa)
 											friendlyPiece.setColor(color.getOppositeColor());
+											board.clearTargetsCache();
 											if (!piece.canMoveToPosition(friendlyPiece.getPosition())) {
 												board.removePiece(piece);
 												board.addPiece(positionBefore, piece);
@@ -244,6 +304,7 @@ public class ChessAI {
 												Board.cloneBoard(recBoard, board);
 											}
 											friendlyPiece.setColor(color);
+											board.clearTargetsCache();
 										}
 									}
 									/* SE a pedra movida está em risco de captura, mas não estava antes,
@@ -260,16 +321,15 @@ public class ChessAI {
 								if (safePiecesBefore.contains(opponentPiece) && !board.pieceIsAtSafePosition(opponentPiece) &&
 										piece.couldCapture(opponentPiece) && board.pieceIsAtSafePosition(piece)) {
 										// Se a pedra movida está ameaçando uma pedra adversária em segurança
-										try {
-											Piece lastCaptured = board.getLastCapturedPiece();
-											// Simula a captura para ver como vai ficar a situação da pedra aliada após a captura
-											tryToMoveTo(piece, opponentPiece.getPosition());
+										Piece lastCaptured = board.getLastCapturedPiece();
+										// Simula a captura para ver como vai ficar a situação da pedra aliada após a captura
+										if (tryToMoveTo(piece, opponentPiece.getPosition())) {
 											/* Se após a captura, a pedra capturante ficou segura, incrementa
 											 * o score no valor da pedra adversária que pode ser capturada
 											 */
 											if (board.pieceIsAtSafePosition(piece)) 
 												possibleMove.incScore(2048, (long)(Long.MAX_VALUE / 7 * opponentPiece.getTypeValue()));
-											else { // Se após a captura, a pedra capturante não ficar segura...
+											else if (lastCaptured != null) { // Se após a captura, a pedra capturante não ficar segura...
 												/* Se a pedra capturada por último for de MENOR valor que a pedra capturante,
 												 * incrementa o score baseado no (VALOR DA PEDRA CAPTURADA - VALOR DA PEDRA
 												 * CAPTURANTE), evitando assim que a CPU suicide pedras capturando outras de
@@ -284,7 +344,6 @@ public class ChessAI {
 													possibleMove.incScore(8192, (long)(Long.MAX_VALUE / 14 * ((lastCaptured.getTypeValue() - piece.getTypeValue()) + 0.1)));
 											}
 										}
-										catch (Exception e) {}
 										Board.cloneBoard(b, board);
 									}
 									if (opponentPiece.isSameTypeOf(PieceType.KING)) {
@@ -296,12 +355,13 @@ public class ChessAI {
 											int disY = Math.abs((int)opponentPiece.getPosition().getY() - (int)position.getY());
 											possibleMove.decScore(16384, disX > disY ? disX : disY);
 										}
-										if (!board.pieceWasCaptured() && !otherKingThreatenPositions.isEmpty()) { // Se o ultimo movimento não foi uma captura...
+										if (!board.pieceWasCaptured() && otherKingSafeMovesBefore > 0) { // Se o ultimo movimento não foi uma captura...
+											int otherKingSafeMoves = opponentPiece.getPossibleSafeMoves().size();
 											// Se o rei adversário ficou com mais possibilidade de movimentos agora do que antes
-											if (otherKingThreatenPositions.size() > opponentPiece.getPossibleSafeMoves().size())
+											if (otherKingSafeMovesBefore > otherKingSafeMoves)
 												possibleMove.decScore(32768, Long.MAX_VALUE / 12);
 											// Se o rei adversário ficou com menos possibilidade de movimentos agora do que antes
-											else if (otherKingThreatenPositions.size() < opponentPiece.getPossibleSafeMoves().size())
+											else if (otherKingSafeMovesBefore < otherKingSafeMoves)
 												possibleMove.incScore(65536, Long.MAX_VALUE / 12);
 										}
 									}
@@ -318,6 +378,7 @@ public class ChessAI {
 						{ addIgnorePosition(piece, position); }
 					Board.cloneBoard(recBoard, board);
 				}
+			}
 		}
 			
 		return possibleMoves.isEmpty() ? null : possibleMoves;
@@ -337,9 +398,17 @@ public class ChessAI {
 	private List<PossibleMove> testPossibleMoves()
 		{ return testPossibleMoves(board.getCurrentColorTurn(), e -> true, false); }
 
+	/**
+	 * Retorna as pedras adversárias que poderiam capturar uma pedra da cor informada na posição informada.
+	 * A lista retornada é reaproveitada na próxima chamada.
+	 */
 	private List<Piece> getListOfPiecesThatCouldCaptureAPieceAt(Position position, PieceColor color) {
-		List<Piece> pieces = board.getPieceListByColor(color.getOppositeColor(), p -> p.canMoveToPosition(position));
-		return pieces.isEmpty() ? null : pieces;
+		capturingPieces.clear();
+		board.forEachPiece(color.getOppositeColor(), p -> {
+			if (p.canMoveToPosition(position))
+				capturingPieces.add(p);
+		});
+		return capturingPieces.isEmpty() ? null : capturingPieces;
 	}
 
 	private List<Piece> getListOfPiecesThatCouldCaptureThis(Piece piece)
@@ -355,10 +424,32 @@ public class ChessAI {
 		validateCpuCommands();
 		if (board.pieceIsSelected())
 			throw new GameException("CPU already selected a piece. Call \".doCpuMoveSelectedPiece()\" for finish the CPU move.");
+		Board recBoard = BoardPool.acquire(board);
+		Board recBoard2 = BoardPool.acquire(board);
+		try
+			{ doCpuSelectAPiece(recBoard, recBoard2); }
+		finally {
+			BoardPool.release(recBoard2);
+			BoardPool.release(recBoard);
+		}
+	}
+
+	/**
+	 * Retorna um candidato reaproveitado (ou um novo, se todos estiverem em uso) com os dados informados
+	 */
+	private PossibleMove newPossibleMove(Piece piece, Position startPosition, Position targetPosition) {
+		if (totalCandidates == candidates.size())
+			candidates.add(new PossibleMove());
+		PossibleMove possibleMove = candidates.get(totalCandidates++);
+		possibleMove.reset(piece, startPosition, targetPosition, debugging);
+		possibleMove.setDisabledChoices(disabledChoices);
+		return possibleMove;
+	}
+
+	private void doCpuSelectAPiece(Board recBoard, Board recBoard2) {
 		List<PossibleMove> possibleMoves;
-		Board recBoard = board.newClonedBoard();
-		Board recBoard2 = board.newClonedBoard();
 		cpuSelectedPositionToMove = null;
+		totalCandidates = 0;
 		ignorePositions.clear();
 		ignorePieces.clear();
 		PieceColor color = board.getCurrentColorTurn();
@@ -369,51 +460,42 @@ public class ChessAI {
 					for (Piece piece : board.getFriendlyPieceList())
 						for (Piece opponentPiece : board.getPieceListByColor(color.getOppositeColor())) {
 							if (opponentPiece.couldCapture(piece)) {
-								try {
-									tryToMoveTo(opponentPiece, piece);
+								if (!tryToMoveTo(opponentPiece, piece))
+									addIgnorePosition(opponentPiece, piece.getPosition());
+								else {
 									Board.cloneBoard(board, recBoard2);
 									for (Piece piece3 : board.getPieceListByColor(color)) {
 										Position originalPosition = new Position(piece3.getPosition());
 										if (piece3.couldCapture(opponentPiece) &&
 												!isIgnoredPosition(piece3, opponentPiece) &&
 												ignorePieces.contains(piece3)) {
-											try {
-												tryToMoveTo(piece3, opponentPiece);
-												if (board.pieceIsAtSafePosition(piece3) && !board.isChecked(piece3.getColor())) {
-													ignorePieces.add(piece3);
-													Board.cloneBoard(recBoard, board);
-													stop = true;
-													break;
-												}
+											if (!tryToMoveTo(piece3, opponentPiece))
+												addIgnorePosition(piece, opponentPiece.getPosition());
+											else if (board.pieceIsAtSafePosition(piece3) && !board.isChecked(piece3.getColor())) {
+												ignorePieces.add(piece3);
+												Board.cloneBoard(recBoard, board);
+												stop = true;
+												break;
 											}
-											catch (Exception e)
-												{ addIgnorePosition(piece, opponentPiece.getPosition()); }
 											Board.cloneBoard(recBoard2, board);
 										}
 										else
 											for (Position position : piece3.getPossibleMoves())
 												if (!isIgnoredPosition(piece3, position) && ignorePieces.contains(piece3)) {
-													try {
-														tryToMoveTo(piece3, position);
-														if (piece3.couldCapture(opponentPiece) &&
-															!isIgnoredPosition(piece3, opponentPiece) &&
-															ignorePieces.contains(piece3))
-																try {
-																	tryToMoveTo(piece3, opponentPiece.getPosition());
-																	if (board.pieceIsAtSafePosition(piece3) && !board.isChecked(piece3.getColor()))
-																		possibleMoves.add(new PossibleMove(piece3, originalPosition, position));
-																}
-																catch (Exception e)
-																	{ addIgnorePosition(piece3, opponentPiece.getPosition()); }
+													if (!tryToMoveTo(piece3, position))
+														addIgnorePosition(piece3, position);
+													else if (piece3.couldCapture(opponentPiece) &&
+														!isIgnoredPosition(piece3, opponentPiece) &&
+														ignorePieces.contains(piece3)) {
+															if (!tryToMoveTo(piece3, opponentPiece.getPosition()))
+																addIgnorePosition(piece3, opponentPiece.getPosition());
+															else if (board.pieceIsAtSafePosition(piece3) && !board.isChecked(piece3.getColor()))
+																possibleMoves.add(newPossibleMove(piece3, originalPosition, position));
 													}
-													catch (Exception e)
-														{ addIgnorePosition(piece3, position); }
 													Board.cloneBoard(recBoard2, board);
 												}
 									}
 								}
-								catch (Exception e)
-									{ addIgnorePosition(opponentPiece, piece.getPosition()); }
 								Board.cloneBoard(recBoard, board);
 							}
 							if (stop)
@@ -435,7 +517,7 @@ public class ChessAI {
 	private void addIgnorePosition(Piece piece, Position position) {
 		if (!ignorePositions.containsKey(piece))
 			ignorePositions.put(piece, new ArrayList<>());
-		ignorePositions.get(piece).add(position);
+		ignorePositions.get(piece).add(new Position(position));
 	}
 	
 	private Boolean isIgnoredPosition(Piece piece, Position position)
@@ -447,11 +529,21 @@ public class ChessAI {
 	/**
 	 * Executa o movimento premeditado pela CPU. O método {@code doCpuSelectAPiece()} deve ser chamado para que a CPU possa selecionar uma pedra para mover
 	 */
-	public void doCpuMoveSelectedPiece() throws PieceSelectionException,PieceMoveException {
+	public void doCpuMoveSelectedPiece() throws PieceSelectionException,PieceMoveException
+		{ doCpuMoveSelectedPiece(false); }
+
+	/**
+	 * Sobrecarga do método {@code doCpuMoveSelectedPiece()} que permite não salvar o tabuleiro para o undo.
+	 * Nesse caso o movimento é executado direto, sem passar pelas validações da seleção do jogador (usado no self-play)
+	 */
+	public void doCpuMoveSelectedPiece(Boolean notSaveForUndo) throws PieceSelectionException,PieceMoveException {
 		validateCpuCommands();
 		if (!board.pieceIsSelected())
 			throw new PieceSelectionException("CPU not selected a piece. Call \".doCpuSelectAPiece()\" first.");
-		board.movePieceTo(cpuSelectedPositionToMove);
+		if (notSaveForUndo)
+			board.movePieceTo(board.getSelectedPiece().getPosition(), cpuSelectedPositionToMove);
+		else
+			board.moveSelectedPieceTo(cpuSelectedPositionToMove, false);
 	}
 	
 	/**
@@ -464,71 +556,107 @@ public class ChessAI {
 
 }
 
+/**
+ * Movimento candidato da CPU. As lógicas que alteraram o score ficam em uma máscara de bits ({@code choice}),
+ * e o valor aplicado por cada uma só é guardado quando o rastreamento está ativo (debug).
+ * As posições pertencem ao candidato, que é reaproveitado com {@code reset()} sem alocar objetos.
+ */
 class PossibleMove implements Comparable<PossibleMove> {
 	
+	private static final String[] CHOICES_INFO = {
+		"Pedra movida resultou em mate do beijo fatal",
+		"Pedra movida se colocou em risco por nada",
+		"Pedra movida se colocou em risco após capturar uma pedra de menor valor",
+		"Pedra movida se colocou em risco após capturar uma pedra de valor igual ou maior",
+		"Pedra movida se livrou do risco de captura",
+		"Pedra movida se livrou do risco de captura mesmo podendo ter capturado em segurança a pedra que a ameaçava",
+		"Pedra movida resultou em checkmate",
+		"Pedra movida resultou em captura segura",
+		"Pedra movida resultou em check seguro",
+		"Pedra movida resultou em check inseguro",
+		"Peão movendo duas casas pelas colunas do meio",
+		"Pedra movida está ameaçando pedra adversária, com a possibilidade de capturá-la em segurança",
+		"Pedra movida está ameaçando pedra adversária de menor valor, sem a possibilidade de capturá-la em segurança",
+		"Pedra movida está ameaçando pedra adversária de valor igual ou maior, sem a possibilidade de capturá-la em segurança",
+		"Distância segura do Rei adversário",
+		"Pedra movida resultou em Rei adversário com mais possibilidades de movimento",
+		"Pedra movida resultou em Rei adversário com menos possibilidades de movimento",
+		"Há pedras aliadas sob risco de captura",
+		"Há pedras adversárias sob risco de captura",
+		"A pedra movida está sob risco de captura",
+		"Pedra movida deixou de cobrir pedra aliada em risco de captura",
+		"Pedra movida resultou em empate por \"Bare Kings\"",
+		"Pedra movida resultou em empate por \"Fifty-move rule\"",
+		"Pedra movida resultou em empate por \"Insufficient Mating Material\"",
+		"Pedra movida resultou em empate por \"Stalemate\"",
+		"Pedra movida resultou em empate por \"Threefold Repetition\"",
+		"Pedra movida se livrou do risco de captura, mesmo podendo capturar a pedra que a ameaçava, porque poderia ser capturada logo em seguida e a pedra capturada era de menor valor (não valeria a pena a troca)",
+		"Pedra movida se livrou do risco de captura, mesmo podendo capturar a pedra que a ameaçava, porque poderia ser capturada logo em seguida, mesmo que a pedra capturada era de valor igual ou maior (valeria a pena a troca)"
+	};
+
 	private Piece piece;
 	private Position startPosition;
 	private Position targetPosition;
 	private long score;
 	private int choice;
-	private Map<Integer, Long> scoreByChoice;
+	private int disabledChoices;
+	private long[] scoreByChoice;
 	
-	public PossibleMove(Piece piece, Position startPosition, Position targetPosition) {
+	/**
+	 * Construtor de um candidato vazio, a ser preenchido com {@code reset()}
+	 */
+	public PossibleMove() {
+		startPosition = new Position(0, 0);
+		targetPosition = new Position(0, 0);
+	}
+
+	/**
+	 * Construtor que permite ativar o rastreamento do valor aplicado por cada lógica (usado por {@code getChoicesInfo()})
+	 */
+	public PossibleMove(Piece piece, Position startPosition, Position targetPosition, Boolean tracing) {
+		this();
+		reset(piece, startPosition, targetPosition, tracing);
+	}
+
+	/**
+	 * Redefine o candidato com os dados informados, zerando o score. As posições são copiadas para as do candidato.
+	 */
+	public void reset(Piece piece, Position startPosition, Position targetPosition, Boolean tracing) {
 		this.piece = piece;
-		this.startPosition = new Position(startPosition);
-		this.targetPosition = new Position(targetPosition);
+		this.startPosition.setPosition(startPosition);
+		this.targetPosition.setPosition(targetPosition);
 		score = 0;
 		choice = 0;
-		scoreByChoice = new HashMap<>();
+		disabledChoices = 0;
+		if (!tracing)
+			scoreByChoice = null;
+		else if (scoreByChoice == null)
+			scoreByChoice = new long[CHOICES_INFO.length];
+		else
+			Arrays.fill(scoreByChoice, 0);
 	}
 
+	public PossibleMove(Piece piece, Position startPosition, Position targetPosition)
+		{ this(piece, startPosition, targetPosition, false); }
+
 	public PossibleMove(Piece piece, Position targetPosition)
 		{ this(piece, piece.getPosition(), targetPosition); }
 
 	public List<String> getChoicesInfo() {
 		List<String> infos = new ArrayList<>();
-		String[] s = {
-				"Pedra movida resultou em mate do beijo fatal",
-				"Pedra movida se colocou em risco por nada",
-				"Pedra movida se colocou em risco após capturar uma pedra de menor valor",
-				"Pedra movida se colocou em risco após capturar uma pedra de valor igual ou maior",
-				"Pedra movida se livrou do risco de captura",
-				"Pedra movida se livrou do risco de captura mesmo podendo ter capturado em segurança a pedra que a ameaçava",
-				"Pedra movida resultou em checkmate",
-				"Pedra movida resultou em captura segura",
-				"Pedra movida resultou em check seguro",
-				"Pedra movida resultou em check inseguro",
-				"Peão movendo duas casas pelas colunas do meio",
-				"Pedra movida está ameaçando pedra adversária, com a possibilidade de capturá-la em segurança",
-				"Pedra movida está ameaçando pedra adversária de menor valor, sem a possibilidade de capturá-la em segurança",
-				"Pedra movida está ameaçando pedra adversária de valor igual ou maior, sem a possibilidade de capturá-la em segurança",
-				"Distância segura do Rei adversário",
-				"Pedra movida resultou em Rei adversário com mais possibilidades de movimento",
-				"Pedra movida resultou em Rei adversário com menos possibilidades de movimento",
-				"Há pedras aliadas sob risco de captura",
-				"Há pedras adversárias sob risco de captura",
-				"A pedra movida está sob risco de captura",
-				"Pedra movida deixou de cobrir pedra aliada em risco de captura",
-				"Pedra movida resultou em empate por \"Bare Kings\"",
-				"Pedra movida resultou em empate por \"Fifty-move rule\"",
-				"Pedra movida resultou em empate por \"Insufficient Mating Material\"",
-				"Pedra movida resultou em empate por \"Stalemate\"",
-				"Pedra movida resultou em empate por \"Threefold Repetition\"",
-				"Pedra movida se livrou do risco de captura, mesmo podendo capturar a pedra que a ameaçava, porque poderia ser capturada logo em seguida e a pedra capturada era de menor valor (não valeria a pena a troca)",
-				"Pedra movida se livrou do risco de captura, mesmo podendo capturar a pedra que a ameaçava, porque poderia ser capturada logo em seguida, mesmo que a pedra capturada era de valor igual ou maior (valeria a pena a troca)"
-		};
-		for (int n = 1, i = 0; i < s.length && n <= choice; n += n, i++)
+		for (int n = 1, i = 0; i < CHOICES_INFO.length && n <= choice; n += n, i++)
 			if ((n & choice) > 0)
-				infos.add(n + " - " + s[i] + " (" + (scoreByChoice.containsKey(n) ? scoreByChoice.get(n) : "???") + ")");
+				infos.add(n + " - " + CHOICES_INFO[i] + " (" + (scoreByChoice != null ? scoreByChoice[i] : "???") + ")");
 		if (infos.isEmpty())
 			infos.add("Nenhuma lógica retornada");
 		return infos;
 	}
 	
-	public void incChoice(int val) {
-		if ((val & choice) == 0)
-			choice += val;
-	}
+	public int getChoice()
+		{ return choice; }
+
+	public void incChoice(int val)
+		{ choice |= val; }
 
 	public long getScore()
 		{ return score; }
@@ -548,10 +676,19 @@ class PossibleMove implements Comparable<PossibleMove> {
 			score = Long.MIN_VALUE;
 	}
 	
+	/**
+	 * Define as lógicas que não alteram o score do candidato (ver {@code ChessAI.setDisabledChoices()})
+	 */
+	public void setDisabledChoices(int disabledChoices)
+		{ this.disabledChoices = disabledChoices; }
+
 	public void incScore(int choice, long val) {
+		if ((choice & disabledChoices) != 0)
+			return;
 		incChoice(choice);
 		incScore(val);
-		scoreByChoice.put(choice, val);
+		if (scoreByChoice != null)
+			scoreByChoice[Integer.numberOfTrailingZeros(choice)] = val;
 	}
 
 	public void decScore(int choice, long val)
@@ -570,7 +707,7 @@ class PossibleMove implements Comparable<PossibleMove> {
 		{ return targetPosition; }
 
 	public void setPosition(Position position) 
-		{ this.targetPosition = position; }
+		{ targetPosition.setPosition(position); }
 	
 	@Override
 	public int compareTo(PossibleMove m)
@@ -0,0 +1,48 @@
+package board;
+
+import java.util.Arrays;
+
+/**
+ * Tabuleiro 10x12 ("mailbox") usado para percorrer as casas sem verificar os limites do tabuleiro.
+ * As casas da borda (2 fileiras acima e abaixo, e 1 coluna de cada lado) são sentinelas, então qualquer
+ * deslocamento de uma casa válida que sai do tabuleiro, inclusive os saltos do cavalo, cai em uma sentinela.
+ * Um deslocamento de {@code x} colunas e {@code y} fileiras vale {@code x + y * 10}.
+ */
+public final class Mailbox {
+
+	public static final int TOTAL_INDEXES = 120;
+
+	// Índice do mailbox -> casa (ver Square), ou Square.NONE nas sentinelas
+	private static final int[] SQUARES = new int[TOTAL_INDEXES];
+	// Casa -> índice do mailbox
+	private static final int[] INDEXES = new int[Square.TOTAL];
+
+	static {
+		Arrays.fill(SQUARES, Square.NONE);
+		for (int square = 0; square < Square.TOTAL; square++) {
+			INDEXES[square] = 21 + Square.getFile(square) + Square.getRank(square) * 10;
+			SQUARES[INDEXES[square]] = square;
+		}
+	}
+
+	private Mailbox() {}
+
+	/**
+	 * Retorna o índice do mailbox da casa informada
+	 */
+	public static int toIndex(int square)
+		{ return INDEXES[square]; }
+
+	/**
+	 * Retorna a casa do índice do mailbox informado, ou {@code Square.NONE} se for uma sentinela
+	 */
+	public static int toSquare(int index)
+		{ return SQUARES[index]; }
+
+	/**
+	 * Retorna a casa alcançada á partir da casa informada com o deslocamento informado, ou {@code Square.NONE}
+	 */
+	public static int step(int square, int offset)
+		{ return SQUARES[INDEXES[square] + offset]; }
+
+}
\ No newline at end of file
@@ -0,0 +1,120 @@
+package board;
+
+import java.util.Arrays;
+
+import enums.PieceColor;
+import enums.PieceType;
+import exceptions.BoardException;
+
+/**
+ * Chave de material: o total de pedras de cada cor e tipo, com 5 bits para cada um dos 12 totais.
+ * Como a chave descreve exatamente o material em jogo, a classificação do final de partida
+ * (empate por material insuficiente, reis sozinhos, etc) é feita com uma única consulta na tabela.
+ * A assinatura (ex: {@code KRPvKR}) segue o padrão usado nos nomes de arquivos das tablebases.
+ */
+public final class MaterialKey {
+
+	static final int BITS_PER_COUNT = 5;
+	static final int MAX_COUNT = (1 << BITS_PER_COUNT) - 1;
+
+	private static final PieceType[] SIGNATURE_ORDER = {PieceType.KING, PieceType.QUEEN, PieceType.ROOK, PieceType.BISHOP, PieceType.KNIGHT, PieceType.PAWN};
+	// Tabela de endereçamento aberto com os finais conhecidos (tipo guardado como ordinal + 1, ou 0 se a entrada estiver vazia)
+	private static final int TABLE_BITS = 4;
+	private static final long[] TABLE_KEYS = new long[1 << TABLE_BITS];
+	private static final byte[] TABLE_TYPES = new byte[1 << TABLE_BITS];
+	private static final EndgameType[] ENDGAME_TYPES = EndgameType.values();
+
+	public static final long BARE_KINGS = fromSignature("KvK");
+
+	/**
+	 * Tipos de final de partida reconhecidos pela chave de material
+	 */
+	public enum EndgameType {
+		BARE_KINGS,
+		INSUFFICIENT_MATERIAL,
+		OTHER;
+	}
+
+	static {
+		putEndgameType(BARE_KINGS, EndgameType.BARE_KINGS);
+		for (String signature : Arrays.asList("KBvK", "KvKB"))
+			putEndgameType(fromSignature(signature), EndgameType.INSUFFICIENT_MATERIAL);
+	}
+
+	private static void putEndgameType(long key, EndgameType type) {
+		int index = getTableIndex(key);
+		while (TABLE_TYPES[index] != 0 && TABLE_KEYS[index] != key)
+			index = (index + 1) & (TABLE_KEYS.length - 1);
+		TABLE_KEYS[index] = key;
+		TABLE_TYPES[index] = (byte)(type.ordinal() + 1);
+	}
+
+	private static int getTableIndex(long key)
+		{ return (int)((key * 0x9E3779B97F4A7C15L) >>> (64 - TABLE_BITS)); }
+
+	private MaterialKey() {}
+
+	static int getShift(PieceColor color, PieceType type)
+		{ return ((color == PieceColor.WHITE ? 0 : 6) + type.ordinal()) * BITS_PER_COUNT; }
+
+	/**
+	 * Retorna o total de pedras da cor e tipo informados na chave informada
+	 */
+	public static int getCount(long key, PieceColor color, PieceType type)
+		{ return (int)(key >>> getShift(color, type)) & MAX_COUNT; }
+
+	/**
+	 * Retorna o tipo de final de partida correspondente á chave informada
+	 */
+	public static EndgameType getEndgameType(long key) {
+		for (int index = getTableIndex(key); TABLE_TYPES[index] != 0; index = (index + 1) & (TABLE_KEYS.length - 1))
+			if (TABLE_KEYS[index] == key)
+				return ENDGAME_TYPES[TABLE_TYPES[index] - 1];
+		return EndgameType.OTHER;
+	}
+
+	/**
+	 * Verifica se o material da chave informada é insuficiente para um checkmate
+	 */
+	public static Boolean isInsufficientMaterial(long key)
+		{ return getEndgameType(key) == EndgameType.INSUFFICIENT_MATERIAL; }
+
+	/**
+	 * Cria a chave correspondente á assinatura informada (ex: {@code KRPvKR}, com as pedras brancas antes do {@code v})
+	 */
+	public static long fromSignature(String signature) {
+		int split = signature.indexOf('v');
+		if (split == -1 || signature.indexOf('v', split + 1) != -1)
+			throw new BoardException(signature + " - Invalid material signature");
+		long key = 0;
+		for (int i = 0; i < signature.length(); i++)
+			if (i != split) {
+				PieceType type;
+				try
+					{ type = PieceType.getTypeFromLet(signature.charAt(i)); }
+				catch (RuntimeException e)
+					{ throw new BoardException(signature + " - Invalid material signature"); }
+				int shift = getShift(i < split ? PieceColor.WHITE : PieceColor.BLACK, type);
+				if ((key >>> shift & MAX_COUNT) == MAX_COUNT)
+					throw new BoardException(signature + " - Too many pieces of the same type");
+				key += 1L << shift;
+			}
+		return key;
+	}
+
+	/**
+	 * Retorna a assinatura da chave informada (ex: {@code KRPvKR}, com as pedras brancas antes do {@code v})
+	 */
+	public static String toSignature(long key) {
+		StringBuilder sb = new StringBuilder(34);
+		for (PieceColor color : Arrays.asList(PieceColor.WHITE, PieceColor.BLACK)) {
+			if (color == PieceColor.BLACK)
+				sb.append('v');
+			for (PieceType type : SIGNATURE_ORDER)
+				for (int n = getCount(key, color, type); n > 0; n--)
+					sb.append(type.getLet());
+		}
+		return sb.toString();
+	}
+
+}
\ No newline at end of file
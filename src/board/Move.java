@@ -0,0 +1,62 @@
+package board;
+
+import enums.PieceType;
+import gameutil.Position;
+
+/**
+ * Jogada formada pela posição de origem, posição de destino e o tipo da promoção (se houver)
+ */
+public class Move {
+
+	private final Position sourcePosition;
+	private final Position targetPosition;
+	private final PieceType promotionType;
+
+	public Move(Position sourcePosition, Position targetPosition, PieceType promotionType) {
+		if (sourcePosition == null || targetPosition == null)
+			throw new NullPointerException("\"" + (sourcePosition == null ? "sourcePosition" : "targetPosition") + "\" is null");
+		this.sourcePosition = new Position(sourcePosition);
+		this.targetPosition = new Position(targetPosition);
+		this.promotionType = promotionType;
+	}
+
+	public Move(Position sourcePosition, Position targetPosition)
+		{ this(sourcePosition, targetPosition, null); }
+
+	public Position getSourcePosition()
+		{ return sourcePosition; }
+
+	public Position getTargetPosition()
+		{ return targetPosition; }
+
+	/**
+	 * Retorna o tipo da promoção, ou {@code null} se a jogada não for uma promoção
+	 */
+	public PieceType getPromotionType()
+		{ return promotionType; }
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (!(obj instanceof Move))
+			return false;
+		Move move = (Move) obj;
+		return sourcePosition.equals(move.sourcePosition) && targetPosition.equals(move.targetPosition) &&
+			promotionType == move.promotionType;
+	}
+
+	@Override
+	public int hashCode()
+		{ return (sourcePosition.hashCode() * 31 + targetPosition.hashCode()) * 31 + (promotionType == null ? 0 : promotionType.hashCode()); }
+
+	/**
+	 * Retorna a jogada no formato {@code e2e4} (com a letra da promoção no final, se houver)
+	 */
+	@Override
+	public String toString() {
+		return Board.positionToString(sourcePosition) + Board.positionToString(targetPosition) +
+			(promotionType == null ? "" : String.valueOf(Character.toLowerCase(promotionType.getLet())));
+	}
+
+}
\ No newline at end of file
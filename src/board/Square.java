@@ -0,0 +1,80 @@
+package board;
+
+import exceptions.InvalidPositionException;
+
+/**
+ * Casas do tabuleiro representadas por um índice de 0 a 63 ({@code fileira * 8 + coluna}, com a1 = 0, h1 = 7 e h8 = 63).
+ * Ao contrário de {@code Position}, uma casa é um simples {@code int}: não aloca objetos e não depende
+ * da orientação do tabuleiro (a casa "e4" é sempre a mesma, esteja o tabuleiro invertido ou não).
+ */
+public final class Square {
+
+	public static final int NONE = -1;
+	public static final int TOTAL = 64;
+
+	private Square() {}
+
+	/**
+	 * Retorna a casa da coluna (0 = 'a') e fileira (0 = '1') informadas
+	 */
+	public static int of(int file, int rank) {
+		if (file < 0 || file >= 8 || rank < 0 || rank >= 8)
+			throw new InvalidPositionException("(" + file + "," + rank + ") - Invalid square coordinates");
+		return rank * 8 + file;
+	}
+
+	public static Boolean isValid(int square)
+		{ return square >= 0 && square < TOTAL; }
+
+	/**
+	 * Lança {@code InvalidPositionException} se a casa informada não estiver entre 0 e 63
+	 */
+	public static int validate(int square) {
+		if (!isValid(square))
+			throw new InvalidPositionException(square + " - Invalid square");
+		return square;
+	}
+
+	/**
+	 * Retorna a coluna da casa (0 = 'a' até 7 = 'h')
+	 */
+	public static int getFile(int square)
+		{ return square & 7; }
+
+	/**
+	 * Retorna a fileira da casa (0 = '1' até 7 = '8')
+	 */
+	public static int getRank(int square)
+		{ return square >> 3; }
+
+	/**
+	 * Retorna a casa deslocada nas colunas e fileiras informadas, ou {@code NONE} se ela ficar fora do tabuleiro
+	 */
+	public static int offset(int square, int fileOffset, int rankOffset) {
+		int file = getFile(square) + fileOffset, rank = getRank(square) + rankOffset;
+		return file < 0 || file >= 8 || rank < 0 || rank >= 8 ? NONE : rank * 8 + file;
+	}
+
+	/**
+	 * Converte uma casa no formato {@code a1|b2|c3|d4|e5|f6|g7|h8}
+	 */
+	public static int fromString(String square) {
+		if (square == null)
+			throw new NullPointerException("\"square\" is null");
+		if (square.length() != 2)
+			throw new InvalidPositionException(square + " - Invalid square");
+		int file = Character.toLowerCase(square.charAt(0)) - 'a', rank = square.charAt(1) - '1';
+		if (file < 0 || file >= 8 || rank < 0 || rank >= 8)
+			throw new InvalidPositionException(square + " - Invalid square");
+		return rank * 8 + file;
+	}
+
+	/**
+	 * Converte a casa para o formato {@code a1|b2|c3|d4|e5|f6|g7|h8}
+	 */
+	public static String toString(int square) {
+		validate(square);
+		return "" + (char)('a' + getFile(square)) + (char)('1' + getRank(square));
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,32 @@
+package board;
+
+import java.util.SplittableRandom;
+
+/**
+ * Chaves aleatórias fixas usadas para gerar a chave (hash) de Zobrist de cada posição.
+ * As casas são indexadas como em {@link Square} (a1 = 0), que não depende da orientação do tabuleiro,
+ * então a chave da posição não muda quando o tabuleiro é invertido.
+ */
+final class Zobrist {
+
+	static final long[][] PIECES = new long[12][64];
+	static final long[] CASTLING = new long[16];
+	static final long[] EN_PASSANT = new long[8];
+	static final long BLACK_TO_MOVE;
+
+	static {
+		SplittableRandom random = new SplittableRandom(0x5DEECE66DL);
+		for (long[] keys : PIECES)
+			for (int n = 0; n < keys.length; n++)
+				keys[n] = random.nextLong();
+		// Sem direitos de roque, a chave não é alterada
+		for (int n = 1; n < CASTLING.length; n++)
+			CASTLING[n] = random.nextLong();
+		for (int n = 0; n < EN_PASSANT.length; n++)
+			EN_PASSANT[n] = random.nextLong();
+		BLACK_TO_MOVE = random.nextLong();
+	}
+
+	private Zobrist() {}
+
+}
\ No newline at end of file
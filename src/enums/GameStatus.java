@@ -0,0 +1,23 @@
+package enums;
+
+public enum GameStatus {
+	ONGOING,
+	CHECKMATE,
+	KISS_OF_DEATH_MATE,
+	DRAW_BY_BARE_KINGS,
+	DRAW_BY_STALEMATE,
+	DRAW_BY_THREEFOLD_REPETITION,
+	DRAW_BY_FIFTY_MOVE_RULE,
+	DRAW_BY_INSUFFICIENT_MATING_MATERIAL,
+	DRAW_BY_LONE_KING_50_TURNS;
+
+	public Boolean isGameOver()
+		{ return this != ONGOING; }
+
+	public Boolean isMate()
+		{ return this == CHECKMATE || this == KISS_OF_DEATH_MATE; }
+
+	public Boolean isDraw()
+		{ return isGameOver() && !isMate(); }
+
+}
\ No newline at end of file
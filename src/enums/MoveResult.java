@@ -0,0 +1,28 @@
+package enums;
+
+public enum MoveResult {
+	OK(null),
+	NO_PIECE("There's no piece of the current turn at this position"),
+	PENDING_PROMOTION("You must promote the pawn"),
+	INVALID_MOVE("Invalid move for this piece"),
+	SELF_CHECK("You can't put yourself in check"),
+	STILL_CHECKED("You'll still checked after this move");
+
+	private final String message;
+
+	MoveResult(String message)
+		{ this.message = message; }
+
+	/**
+	 * Mensagem da exceção correspondente ao resultado ({@code null} para {@code OK})
+	 */
+	public String getMessage()
+		{ return message; }
+
+	public Boolean isLegal()
+		{ return this == OK; }
+
+	public Boolean isCheckViolation()
+		{ return this == SELF_CHECK || this == STILL_CHECKED; }
+
+}
\ No newline at end of file
@@ -0,0 +1,10 @@
+package exceptions;
+
+public class ArchiveException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public ArchiveException(String msg)
+		{	super(msg); }
+	
+}
\ No newline at end of file
@@ -6,5 +6,8 @@ public class CheckException extends RuntimeException {
 
 	public CheckException(String msg)
 		{	super(msg); }
+
+	public CheckException(String msg, Boolean writableStackTrace)
+		{	super(msg, null, false, writableStackTrace); }
 	
 }
\ No newline at end of file
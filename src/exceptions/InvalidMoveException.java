@@ -6,5 +6,8 @@ public class InvalidMoveException extends RuntimeException {
 
 	public InvalidMoveException(String msg)
 		{	super(msg); }
+
+	public InvalidMoveException(String msg, Boolean writableStackTrace)
+		{	super(msg, null, false, writableStackTrace); }
 	
 }
\ No newline at end of file
@@ -0,0 +1,10 @@
+package exceptions;
+
+public class NotationException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public NotationException(String msg)
+		{	super(msg); }
+	
+}
\ No newline at end of file
@@ -6,5 +6,8 @@ public class PieceMoveException extends Exception {
 
 	public PieceMoveException(String msg)
 		{	super(msg); }
+
+	public PieceMoveException(String msg, Boolean writableStackTrace)
+		{	super(msg, null, false, writableStackTrace); }
 	
 }
\ No newline at end of file
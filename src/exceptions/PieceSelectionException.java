@@ -6,5 +6,8 @@ public class PieceSelectionException extends Exception {
 
 	public PieceSelectionException(String msg)
 		{	super(msg); }
+
+	public PieceSelectionException(String msg, Boolean writableStackTrace)
+		{	super(msg, null, false, writableStackTrace); }
 	
 }
\ No newline at end of file
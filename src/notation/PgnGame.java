@@ -0,0 +1,82 @@
+package notation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import board.Board;
+import exceptions.NotationException;
+
+/**
+ * Partida no formato PGN: os tags (na ordem em que foram lidos ou definidos), as jogadas em SAN e o resultado
+ */
+public class PgnGame {
+
+	public static final String WHITE_WINS = "1-0";
+	public static final String BLACK_WINS = "0-1";
+	public static final String DRAW = "1/2-1/2";
+	public static final String UNKNOWN_RESULT = "*";
+
+	private final Map<String, String> tags;
+	private final List<String> moves;
+	private String result;
+
+	public PgnGame() {
+		tags = new LinkedHashMap<>();
+		moves = new ArrayList<>();
+		result = UNKNOWN_RESULT;
+	}
+
+	/**
+	 * Retorna todos os tags da partida
+	 */
+	public Map<String, String> getTags()
+		{ return Collections.unmodifiableMap(tags); }
+
+	/**
+	 * Retorna o valor do tag informado, ou {@code null} se ele não existir
+	 */
+	public String getTag(String name)
+		{ return tags.get(name); }
+
+	public void setTag(String name, String value) {
+		if (name == null || value == null)
+			throw new NullPointerException("\"" + (name == null ? "name" : "value") + "\" is null");
+		tags.put(name, value);
+	}
+
+	/**
+	 * Retorna as jogadas da partida em SAN (Standard Algebraic Notation)
+	 */
+	public List<String> getMoves()
+		{ return Collections.unmodifiableList(moves); }
+
+	public void addMove(String san)
+		{ moves.add(san); }
+
+	/**
+	 * Retorna o resultado da partida ({@code 1-0}, {@code 0-1}, {@code 1/2-1/2} ou {@code *})
+	 */
+	public String getResult()
+		{ return result; }
+
+	public void setResult(String result) {
+		if (!isResult(result))
+			throw new NotationException(result + " - Invalid PGN result");
+		this.result = result;
+	}
+
+	/**
+	 * Retorna a posição inicial da partida no formato FEN (Tag "FEN", ou a posição inicial padrão)
+	 */
+	public String getStartFen()
+		{ return tags.containsKey("FEN") ? tags.get("FEN") : Board.INITIAL_FEN; }
+
+	public static Boolean isResult(String token) {
+		return WHITE_WINS.equals(token) || BLACK_WINS.equals(token) ||
+			DRAW.equals(token) || UNKNOWN_RESULT.equals(token);
+	}
+
+}
\ No newline at end of file
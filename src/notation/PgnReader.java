@@ -0,0 +1,213 @@
+package notation;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import exceptions.NotationException;
+
+/**
+ * Lê partidas no formato PGN, uma de cada vez, á partir de um {@code Reader} ou de um canal.
+ * O arquivo nunca é carregado inteiro na memória: apenas a partida atual fica em memória,
+ * então arquivos de qualquer tamanho podem ser lidos com uso de memória constante.
+ * Comentários, variantes, NAGs e linhas de escape são ignorados.
+ */
+public class PgnReader implements Closeable {
+
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	private final Reader reader;
+	private final char[] buffer;
+	private final StringBuilder token;
+	private int bufferPos;
+	private int bufferEnd;
+	private int lastChar;
+	private int line;
+
+	public PgnReader(Reader reader) {
+		if (reader == null)
+			throw new NullPointerException("\"reader\" is null");
+		this.reader = reader;
+		buffer = new char[BUFFER_SIZE];
+		token = new StringBuilder(256);
+		lastChar = '\n';
+		line = 1;
+	}
+
+	public PgnReader(ReadableByteChannel channel, Charset charset)
+		{ this(Channels.newReader(channel, charset.newDecoder(), BUFFER_SIZE)); }
+
+	public PgnReader(ReadableByteChannel channel)
+		{ this(channel, StandardCharsets.UTF_8); }
+
+	/**
+	 * Retorna a linha atual da leitura (usado nas mensagens de erro)
+	 */
+	public int getLine()
+		{ return line; }
+
+	/**
+	 * Lê a próxima partida. Retorna {@code null} quando não houver mais partidas.
+	 */
+	public PgnGame readGame() throws IOException {
+		PgnGame game = null;
+		Boolean readingMoves = false;
+		int c;
+		while ((c = skipWhitespace()) != -1) {
+			if (c == '[') {
+				if (readingMoves) {
+					// Partida sem resultado no final: o tag pertence á próxima partida
+					unread(c);
+					return game;
+				}
+				if (game == null)
+					game = new PgnGame();
+				readTag(game);
+			}
+			else if (c == '{')
+				skipUntil('}');
+			else if (c == ';')
+				skipUntil('\n');
+			else if (c == '%' && isLineStart())
+				skipUntil('\n');
+			else if (c == '(')
+				skipVariation();
+			else if (c == ')')
+				throw new NotationException("Line " + line + " - Unexpected ')'");
+			else if (c == '$')
+				readToken(c);
+			else {
+				if (game == null)
+					game = new PgnGame();
+				readingMoves = true;
+				String move = readMoveToken(c);
+				if (move == null)
+					continue;
+				if (PgnGame.isResult(move)) {
+					game.setResult(move);
+					return game;
+				}
+				game.addMove(move);
+			}
+		}
+		return game;
+	}
+
+	private void readTag(PgnGame game) throws IOException {
+		int c = skipWhitespace();
+		token.setLength(0);
+		while (c != -1 && !Character.isWhitespace(c) && c != '"' && c != ']') {
+			token.append((char)c);
+			c = read();
+		}
+		String name = token.toString();
+		if (Character.isWhitespace(c))
+			c = skipWhitespace();
+		if (name.isEmpty() || c != '"')
+			throw new NotationException("Line " + line + " - Invalid PGN tag");
+		token.setLength(0);
+		while ((c = read()) != '"') {
+			if (c == -1 || c == '\n')
+				throw new NotationException("Line " + line + " - Unterminated PGN tag value");
+			if (c == '\\')
+				c = read();
+			token.append((char)c);
+		}
+		if (skipWhitespace() != ']')
+			throw new NotationException("Line " + line + " - Missing ']' on PGN tag");
+		game.setTag(name, token.toString());
+	}
+
+	/**
+	 * Lê um token de jogada, removendo o número do lance e as anotações (!, ?).
+	 * Retorna {@code null} se o token for apenas um número de lance.
+	 */
+	private String readMoveToken(int c) throws IOException {
+		readToken(c);
+		int start = 0, end = token.length();
+		while (start < end && Character.isDigit(token.charAt(start)))
+			start++;
+		if (start == end)
+			return null;
+		if (token.charAt(start) == '.')
+			while (start < end && token.charAt(start) == '.')
+				start++;
+		else
+			start = 0;
+		while (end > start && (token.charAt(end - 1) == '!' || token.charAt(end - 1) == '?'))
+			end--;
+		return start == end ? null : token.substring(start, end);
+	}
+
+	private void readToken(int c) throws IOException {
+		token.setLength(0);
+		while (c != -1 && !Character.isWhitespace(c) && "{}()[];$".indexOf(c) < 0 || token.length() == 0 && c == '$') {
+			token.append((char)c);
+			c = read();
+		}
+		if (c != -1)
+			unread(c);
+	}
+
+	private void skipVariation() throws IOException {
+		int depth = 1, c;
+		while (depth > 0 && (c = read()) != -1) {
+			if (c == '(')
+				depth++;
+			else if (c == ')')
+				depth--;
+			else if (c == '{')
+				skipUntil('}');
+			else if (c == ';')
+				skipUntil('\n');
+		}
+		if (depth > 0)
+			throw new NotationException("Line " + line + " - Unterminated PGN variation");
+	}
+
+	private void skipUntil(char end) throws IOException {
+		int c;
+		while ((c = read()) != -1 && c != end);
+	}
+
+	private int skipWhitespace() throws IOException {
+		int c;
+		while ((c = read()) != -1 && Character.isWhitespace(c));
+		return c;
+	}
+
+	private Boolean isLineStart()
+		{ return bufferPos < 2 ? lastChar == '\n' : buffer[bufferPos - 2] == '\n'; }
+
+	private int read() throws IOException {
+		if (bufferPos == bufferEnd) {
+			if (bufferEnd > 0)
+				lastChar = buffer[bufferEnd - 1];
+			bufferEnd = reader.read(buffer, 0, buffer.length);
+			bufferPos = 0;
+			if (bufferEnd <= 0) {
+				bufferEnd = 0;
+				return -1;
+			}
+		}
+		char c = buffer[bufferPos++];
+		if (c == '\n')
+			line++;
+		return c;
+	}
+
+	private void unread(int c) {
+		bufferPos--;
+		if (c == '\n')
+			line--;
+	}
+
+	@Override
+	public void close() throws IOException
+		{ reader.close(); }
+
+}
\ No newline at end of file
@@ -0,0 +1,14 @@
+package notation;
+
+import board.Board;
+
+@FunctionalInterface
+public interface PgnReplayListener {
+
+	/**
+	 * Chamado para cada partida reproduzida, na mesma ordem em que foram lidas.
+	 * Recebe o tabuleiro na posição final (ou na posição em que o erro aconteceu) e o erro (se houver)
+	 */
+	void gameReplayed(PgnGame game, Board board, Exception error);
+
+}
\ No newline at end of file
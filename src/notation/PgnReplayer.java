@@ -0,0 +1,100 @@
+package notation;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import board.Board;
+import exceptions.GameException;
+
+/**
+ * Reproduz as partidas de um {@code PgnReader} no tabuleiro, em lotes. Cada lote é lido, reproduzido
+ * em paralelo e entregue ao listener antes do próximo ser lido, então o uso de memória fica limitado
+ * ao tamanho do lote, independente do tamanho do arquivo.
+ */
+public class PgnReplayer {
+
+	private final int threads;
+	private final int batchSize;
+
+	public PgnReplayer(int threads, int batchSize) {
+		if (threads < 1)
+			throw new GameException("threads must be higher than 0");
+		if (batchSize < 1)
+			throw new GameException("batchSize must be higher than 0");
+		this.threads = threads;
+		this.batchSize = batchSize;
+	}
+
+	public PgnReplayer()
+		{ this(Runtime.getRuntime().availableProcessors(), 256); }
+
+	/**
+	 * Reproduz todas as partidas do reader. Retorna o total de partidas reproduzidas.
+	 */
+	public long replay(PgnReader reader, PgnReplayListener listener) throws IOException, InterruptedException {
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		List<Replay> batch = new ArrayList<>(batchSize);
+		long total = 0;
+		try {
+			PgnGame game;
+			do {
+				batch.clear();
+				while (batch.size() < batchSize && (game = reader.readGame()) != null)
+					batch.add(new Replay(game));
+				for (Future<Replay> future : executor.invokeAll(batch)) {
+					Replay replay;
+					try
+						{ replay = future.get(); }
+					catch (ExecutionException e)
+						{ throw new GameException("PGN replay failed: " + e.getCause()); }
+					listener.gameReplayed(replay.game, replay.board, replay.error);
+				}
+				total += batch.size();
+			}
+			while (batch.size() == batchSize);
+		}
+		finally
+			{ executor.shutdownNow(); }
+		return total;
+	}
+
+	/**
+	 * Reproduz uma única partida e retorna o tabuleiro na posição final
+	 */
+	public static Board replay(PgnGame game) {
+		Board board = Board.fromFen(game.getStartFen());
+		for (String san : game.getMoves())
+			San.play(board, san);
+		return board;
+	}
+
+	private static class Replay implements Callable<Replay> {
+
+		private final PgnGame game;
+		private Board board;
+		private Exception error;
+
+		Replay(PgnGame game)
+			{ this.game = game; }
+
+		@Override
+		public Replay call() {
+			try {
+				board = Board.fromFen(game.getStartFen());
+				for (String san : game.getMoves())
+					San.play(board, san);
+			}
+			catch (Exception e)
+				{ error = e; }
+			return this;
+		}
+
+	}
+
+}
\ No newline at end of file
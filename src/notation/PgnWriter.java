@@ -0,0 +1,104 @@
+package notation;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Grava partidas no formato PGN, uma de cada vez, em um {@code Writer} ou em um canal
+ */
+public class PgnWriter implements Closeable, Flushable {
+
+	private static final int MAX_LINE_LENGTH = 79;
+
+	private final Writer writer;
+	private final StringBuilder line;
+
+	public PgnWriter(Writer writer) {
+		if (writer == null)
+			throw new NullPointerException("\"writer\" is null");
+		this.writer = writer instanceof BufferedWriter ? writer : new BufferedWriter(writer, 1 << 16);
+		line = new StringBuilder(MAX_LINE_LENGTH + 16);
+	}
+
+	public PgnWriter(WritableByteChannel channel, Charset charset)
+		{ this(Channels.newWriter(channel, charset.newEncoder(), 1 << 16)); }
+
+	public PgnWriter(WritableByteChannel channel)
+		{ this(channel, StandardCharsets.UTF_8); }
+
+	/**
+	 * Grava a partida informada
+	 */
+	public void writeGame(PgnGame game) throws IOException {
+		for (Map.Entry<String, String> tag : game.getTags().entrySet()) {
+			writer.write('[');
+			writer.write(tag.getKey());
+			writer.write(" \"");
+			String value = tag.getValue();
+			for (int i = 0; i < value.length(); i++) {
+				char c = value.charAt(i);
+				if (c == '"' || c == '\\')
+					writer.write('\\');
+				writer.write(c);
+			}
+			writer.write("\"]\n");
+		}
+		if (!game.getTags().isEmpty())
+			writer.write('\n');
+
+		String fen = game.getStartFen();
+		int fields = fen.indexOf(' ');
+		Boolean blackTurn = fields > 0 && fields + 1 < fen.length() && fen.charAt(fields + 1) == 'b';
+		int moveNumber = 1;
+		int lastSpace = fen.lastIndexOf(' ');
+		if (lastSpace > 0)
+			try
+				{ moveNumber = Math.max(1, Integer.parseInt(fen, lastSpace + 1, fen.length(), 10)); }
+			catch (NumberFormatException e) {}
+
+		line.setLength(0);
+		Boolean first = true;
+		for (String move : game.getMoves()) {
+			if (!blackTurn)
+				appendToken(moveNumber + ".");
+			else if (first)
+				appendToken(moveNumber + "...");
+			appendToken(move);
+			if (blackTurn)
+				moveNumber++;
+			blackTurn = !blackTurn;
+			first = false;
+		}
+		appendToken(game.getResult());
+		writer.write(line.toString());
+		writer.write("\n\n");
+	}
+
+	private void appendToken(String token) throws IOException {
+		if (line.length() > 0 && line.length() + 1 + token.length() > MAX_LINE_LENGTH) {
+			writer.write(line.toString());
+			writer.write('\n');
+			line.setLength(0);
+		}
+		if (line.length() > 0)
+			line.append(' ');
+		line.append(token);
+	}
+
+	@Override
+	public void flush() throws IOException
+		{ writer.flush(); }
+
+	@Override
+	public void close() throws IOException
+		{ writer.close(); }
+
+}
\ No newline at end of file
@@ -0,0 +1,185 @@
+package notation;
+
+import java.util.List;
+
+import board.Board;
+import board.BoardPool;
+import board.Move;
+import enums.PieceType;
+import exceptions.NotationException;
+import exceptions.PromotionException;
+import gameutil.Position;
+import piece.Piece;
+
+/**
+ * Conversão entre jogadas em SAN (Standard Algebraic Notation) e as posições do tabuleiro.
+ * As casas são convertidas com {@code Board.stringToPosition()}, que não depende da visão invertida do tabuleiro.
+ */
+public class San {
+
+	private San() {}
+
+	/**
+	 * Resolve a SAN informada contra as jogadas legais do turno atual do tabuleiro
+	 */
+	public static Move resolve(Board board, String san) {
+		int end = san.length();
+		while (end > 0 && "+#!?".indexOf(san.charAt(end - 1)) >= 0)
+			end--;
+		String move = san.substring(0, end);
+
+		if (move.equals("O-O") || move.equals("0-0") || move.equals("O-O-O") || move.equals("0-0-0")) {
+			Piece king = board.getTheFriendlyKing();
+			Position target = new Position(king.getPosition());
+			target.setX(move.length() == 3 ? 6 : 2);
+			if (!board.isLegalMove(king.getPosition(), target))
+				throw new NotationException(san + " - Illegal move");
+			return new Move(king.getPosition(), target);
+		}
+
+		PieceType promotionType = null;
+		if (end >= 3 && (move.charAt(end - 2) == '=' ||
+				Character.isDigit(move.charAt(end - 2)) && Character.isUpperCase(move.charAt(end - 1)))) {
+					promotionType = getPieceType(move.charAt(end - 1));
+					if (promotionType == null || promotionType == PieceType.PAWN || promotionType == PieceType.KING)
+						throw new NotationException(san + " - Invalid promotion");
+					end -= move.charAt(end - 2) == '=' ? 2 : 1;
+		}
+		if (end < 2)
+			throw new NotationException(san + " - Invalid SAN move");
+		PieceType type = PieceType.PAWN;
+		int start = 0;
+		if (Character.isUpperCase(move.charAt(0))) {
+			if ((type = getPieceType(move.charAt(0))) == null)
+				throw new NotationException(san + " - Invalid piece letter");
+			start = 1;
+		}
+		Position target;
+		try
+			{ target = Board.stringToPosition(move.substring(end - 2, end)); }
+		catch (Exception e)
+			{ throw new NotationException(san + " - Invalid target square"); }
+		int fromX = -1, fromY = -1;
+		for (int i = start; i < end - 2; i++) {
+			char c = move.charAt(i);
+			if (c >= 'a' && c <= 'h')
+				fromX = c - 'a';
+			else if (c >= '1' && c <= '8')
+				fromY = 8 - (c - '0');
+			else if (c != 'x' && c != ':' && c != '-')
+				throw new NotationException(san + " - Invalid SAN move");
+		}
+
+		Piece found = null;
+		int total = 0;
+		final PieceType pieceType = type;
+		List<Piece> candidates = board.getFriendlyPieceList(p -> p.getType() == pieceType);
+		for (Piece piece : candidates)
+			if (isCandidate(piece, fromX, fromY, target) && total++ == 0)
+				found = piece;
+		// A legalidade só é usada para desempatar quando há mais de uma pedra candidata
+		if (total == 1 && !board.isLegalMove(found.getPosition(), target))
+			found = null;
+		else if (total > 1) {
+			found = null;
+			for (Piece piece : candidates)
+				if (isCandidate(piece, fromX, fromY, target) && board.isLegalMove(piece.getPosition(), target)) {
+					if (found != null)
+						throw new NotationException(san + " - Ambiguous move");
+					found = piece;
+				}
+		}
+		if (found == null)
+			throw new NotationException(san + " - Illegal move");
+		if (type == PieceType.PAWN && promotionType == null && (int)target.getY() == board.getPromotionRow(found))
+			promotionType = PieceType.QUEEN;
+		return new Move(found.getPosition(), target, promotionType);
+	}
+
+	/**
+	 * Resolve e executa a SAN informada no tabuleiro
+	 */
+	public static Piece play(Board board, String san) {
+		Move move = resolve(board, san);
+		try
+			{ return board.playMove(move.getSourcePosition(), move.getTargetPosition(), move.getPromotionType()); }
+		catch (PromotionException e)
+			{ throw new NotationException(san + " - " + e.getMessage()); }
+	}
+
+	/**
+	 * Retorna a SAN da jogada informada, que deve ser legal no turno atual do tabuleiro.
+	 * A jogada é testada no próprio tabuleiro para marcar check e checkmate, e o tabuleiro é restaurado em seguida.
+	 */
+	public static String toSan(Board board, Position sourcePos, Position targetPos, PieceType promotionType) {
+		Piece piece = board.getPieceAt(sourcePos);
+		if (piece == null || !board.isLegalMove(sourcePos, targetPos))
+			throw new NotationException(sourcePos + " -> " + targetPos + " - Illegal move");
+		StringBuilder sb = new StringBuilder(8);
+		int sourceX = (int)sourcePos.getX(), targetX = (int)targetPos.getX();
+		if (piece.isKing() && Math.abs(sourceX - targetX) == 2)
+			sb.append(targetX > sourceX ? "O-O" : "O-O-O");
+		else {
+			Boolean capture = board.getPieceAt(targetPos) != null;
+			if (piece.isPawn()) {
+				if (sourceX != targetX) {
+					sb.append((char)('a' + sourceX));
+					capture = true;
+				}
+			}
+			else {
+				sb.append(piece.let());
+				Boolean sameX = false, sameY = false, ambiguous = false;
+				for (Piece other : board.getFriendlyPieceList(p -> p != piece && p.isSameTypeOf(piece)))
+					if (other.canMoveToPosition(targetPos) && board.isLegalMove(other.getPosition(), targetPos)) {
+						ambiguous = true;
+						sameX |= (int)other.getPosition().getX() == sourceX;
+						sameY |= (int)other.getPosition().getY() == (int)sourcePos.getY();
+					}
+				if (ambiguous && (!sameX || sameY))
+					sb.append((char)('a' + sourceX));
+				if (ambiguous && sameX)
+					sb.append(8 - (int)sourcePos.getY());
+			}
+			if (capture)
+				sb.append('x');
+			sb.append(Board.positionToString(targetPos));
+			if (piece.isPawn() && (int)targetPos.getY() == board.getPromotionRow(piece))
+				sb.append('=').append((promotionType == null ? PieceType.QUEEN : promotionType).getLet());
+		}
+		Board recBoard = BoardPool.acquire(board);
+		try {
+			board.playMove(sourcePos, targetPos, promotionType);
+			if (board.checkMate() || board.deadlyKissMate())
+				sb.append('#');
+			else if (board.isChecked())
+				sb.append('+');
+		}
+		catch (PromotionException e)
+			{ throw new NotationException(e.getMessage()); }
+		finally {
+			Board.cloneBoard(recBoard, board);
+			BoardPool.release(recBoard);
+		}
+		return sb.toString();
+	}
+
+	private static Boolean isCandidate(Piece piece, int fromX, int fromY, Position target) {
+		return (fromX == -1 || (int)piece.getPosition().getX() == fromX) &&
+			(fromY == -1 || (int)piece.getPosition().getY() == fromY) &&
+			piece.canMoveToPosition(target);
+	}
+
+	private static PieceType getPieceType(char let) {
+		switch (let) {
+			case 'N': return PieceType.KNIGHT;
+			case 'B': return PieceType.BISHOP;
+			case 'R': return PieceType.ROOK;
+			case 'Q': return PieceType.QUEEN;
+			case 'K': return PieceType.KING;
+			case 'P': return PieceType.PAWN;
+			default: return null;
+		}
+	}
+
+}
\ No newline at end of file
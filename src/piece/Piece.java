@@ -4,12 +4,18 @@ import java.util.ArrayList;
 import java.util.List;
 
 import board.Board;
+import board.BoardPool;
+import board.Mailbox;
+import board.Square;
 import enums.PieceColor;
 import enums.PieceType;
 import gameutil.Position;
 
 public abstract class Piece implements Comparable<Piece> {
 	
+	// Máximo de casas alcançadas com os deslocamentos do Mailbox (a rainha no centro do tabuleiro)
+	public static final int MAX_MAILBOX_TARGETS = 27;
+
 	private Position position;
 	private PieceType type;
 	private Board board;
@@ -34,6 +40,12 @@ public abstract class Piece implements Comparable<Piece> {
 	public Position getPosition()
 		{ return position; }
 
+	/**
+	 * Retorna a casa onde a pedra está (ver {@code Square})
+	 */
+	public int getSquare()
+		{ return board.toSquare(position); }
+
 	/**
 	 * Retorna o board associado a pedra
 	 */
@@ -338,8 +350,12 @@ public abstract class Piece implements Comparable<Piece> {
 	/**
 	 * Verifica se a pedra pode se mover para a posição informada
 	 */
-	public Boolean canMoveToPosition(Position position)
-		{ return getPossibleMoves().contains(position) || getPossibleCaptureMoves().contains(position); }
+	public Boolean canMoveToPosition(Position position) {
+		// Usa a máscara guardada pelo tabuleiro, exceto para pedras fora dele (capturadas) e posições inválidas
+		if (getBoard().getPieceAt(getPosition()) == this && getBoard().isValidBoardPosition(position))
+			return (getBoard().getPossibleTargets(getPosition()) & Board.getSquareMask(position)) != 0;
+		return getPossibleMoves().contains(position) || getPossibleCaptureMoves().contains(position);
+	}
 	
 	/**
 	 * Verifica se a pedra pode se mover para a posição informada sem risco de ser capturada
@@ -347,7 +363,7 @@ public abstract class Piece implements Comparable<Piece> {
 	public Boolean canSafeMoveToPosition(Position position) {
 		if (!getBoard().isValidBoardPosition(position))
 			return false;
-		Board recBoard = getBoard().newClonedBoard();
+		Board recBoard = BoardPool.acquire(getBoard());
 		Boolean isSafe = false;
 		try {
 			getBoard().removePiece(this);
@@ -360,10 +376,81 @@ public abstract class Piece implements Comparable<Piece> {
 			}
 		}
 		catch (Exception e) {}
-		Board.cloneBoard(recBoard, board);
+		finally {
+			Board.cloneBoard(recBoard, board);
+			BoardPool.release(recBoard);
+		}
 		return isSafe;
 	}
 
+	/**
+	 * Retorna as posições alcançadas á partir da casa da pedra com cada um dos deslocamentos do {@code Mailbox}
+	 * informados, andando uma única casa ou, se {@code sliding}, até encontrar uma pedra ou a borda do tabuleiro.
+	 * As posições só são criadas no final, á partir das casas de {@code getMailboxTargets()}.
+	 */
+	protected List<Position> getMailboxMoves(int[] offsets, Boolean sliding) {
+		int[] targets = new int[MAX_MAILBOX_TARGETS];
+		int total = getMailboxTargets(offsets, sliding, targets);
+		List<Position> moves = new ArrayList<>(total);
+		for (int n = 0; n < total; n++)
+			moves.add(new Position(Square.getFile(targets[n]), 7 - Square.getRank(targets[n])));
+		return moves;
+	}
+
+	/**
+	 * Preenche o array informado (com pelo menos {@code MAX_MAILBOX_TARGETS} elementos) com as casas (ver {@code Square})
+	 * alcançadas como em {@code getMailboxMoves()}, e retorna o total de casas. As sentinelas do {@code Mailbox}
+	 * dispensam a verificação dos limites do tabuleiro, então as pedras são lidas direto da grade do tabuleiro.
+	 */
+	public int getMailboxTargets(int[] offsets, Boolean sliding, int[] targets) {
+		Piece[][] grid = board.getGrid();
+		int total = 0, from = Mailbox.toIndex(getSquare());
+		for (int offset : offsets)
+			for (int index = from + offset, square; (square = Mailbox.toSquare(index)) != Square.NONE; index += offset) {
+				Piece piece = grid[Square.getFile(square)][7 - Square.getRank(square)];
+				if (piece == null || !isSameColorOf(piece))
+					targets[total++] = square;
+				if (piece != null || !sliding)
+					break;
+			}
+		return total;
+	}
+
+	/**
+	 * Retorna as casas alcançadas como em {@code getMailboxTargets()}, como uma máscara de 64 bits (bit da casa, ver {@code Square})
+	 */
+	protected long getMailboxMask(int[] offsets, Boolean sliding) {
+		Piece[][] grid = board.getGrid();
+		long mask = 0;
+		int from = Mailbox.toIndex(getSquare());
+		for (int offset : offsets)
+			for (int index = from + offset, square; (square = Mailbox.toSquare(index)) != Square.NONE; index += offset) {
+				Piece piece = grid[Square.getFile(square)][7 - Square.getRank(square)];
+				if (piece == null || !isSameColorOf(piece))
+					mask |= 1L << square;
+				if (piece != null || !sliding)
+					break;
+			}
+		return mask;
+	}
+
+	/**
+	 * Retorna as casas para onde a pedra pode se mover ou capturar (sem verificar se a jogada deixa o
+	 * próprio rei em check), como uma máscara de 64 bits (bit da casa, ver {@code Square}). Usado pelo
+	 * tabuleiro para gerar as jogadas. As pedras que andam com os deslocamentos do {@code Mailbox}
+	 * sobrescrevem esse método para gerar a máscara sem criar posições.
+	 */
+	public long getPossibleTargetsMask() {
+		long mask = 0;
+		for (Position position : getPossibleMoves())
+			if (board.isValidBoardPosition(position))
+				mask |= Board.getSquareMask(position);
+		for (Position position : getPossibleCaptureMoves())
+			if (board.isValidBoardPosition(position))
+				mask |= Board.getSquareMask(position);
+		return mask;
+	}
+
 	public List<Position> getPossibleSafeMoves() {
 		List<Position> list = new ArrayList<>();
 		List<Position> possibleMoves = new ArrayList<>(getPossibleMoves());
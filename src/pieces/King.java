@@ -1,9 +1,9 @@
 package pieces;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import board.Board;
+import board.Square;
 import enums.PieceColor;
 import enums.PieceType;
 import gameutil.Position;
@@ -11,51 +11,46 @@ import piece.Piece;
 
 public class King extends Piece  {
 
+	// 8 directions (Mailbox offsets)
+	private static final int[] OFFSETS = {-11, -10, -9, -1, 1, 9, 10, 11};
+
 	public King(Board board, Position position, PieceColor color)
 		{ super(board, position, PieceType.KING, color); }
 
 	@Override
 	public List<Position> getPossibleMoves() {
-		int[][] inc = {{-1,0,1,-1,0,1,-1,1,1,1}, {-1,-1,-1,1,1,1,0,0,0,0}};
+		List<Position> moves = getPossibleCaptureMoves();
 		
-		// Castling special move
-		if (!wasMoved()) {
-			Position p2 = new Position(getPosition());
-			for (int c = 0; c <= 7; c += 7) {
-				p2.setX(c);
-				Piece piece = getBoard().getPieceAt(p2);
-				if (piece != null && !piece.wasMoved() && piece.isRook(getColor())) {
-					do 
-						p2.incX(c == 0 ? 1 : -1);
-					while (getBoard().isFreeSlot(p2));
-					if (p2.equals(getPosition()))
-						inc[0][c == 0 ? 8 : 9] = c == 0 ? -2 : 2;
+		// Castling special move (os roques recusados pelo tabuleiro, como passar por uma casa atacada, não são listados)
+		if (getBoard().hasCastlingRight(getColor()))
+			for (int c = 0; c <= 7; c += 7)
+				if (getBoard().getPieceAt(getPosition()) == this && getBoard().canCastle(getColor(), c == 7)) {
+					Position target = new Position(getPosition());
+					target.incX(c == 0 ? -2 : 2);
+					moves.add(target);
 				}
-			}
-		}
-		
-		/* 10 directions check (9th and 10th is for castling special move
-		 * (these values will be changed if castling check pass, otherwise
-		 * they will be just repeated directions))
-		 */
-		List<Position> moves = new ArrayList<>();
-		Position p = new Position(getPosition());
-		for (int dir = 0; dir < (!wasMoved() ? 10 : 8); dir++) {
-			p.setPosition(getPosition());
-			p.incPosition(inc[0][dir], inc[1][dir]);
-			Piece piece = getBoard().getPieceAt(p);
-			if (piece == null || !isSameColorOf(piece))
-				moves.add(new Position(p));
-		}
 		return moves;
 	}
 	
+	@Override
+	public long getPossibleTargetsMask() {
+		long mask = getMailboxMask(OFFSETS, false);
+		if (getBoard().hasCastlingRight(getColor()))
+			for (int c = 0; c <= 7; c += 7)
+				if (getBoard().getPieceAt(getPosition()) == this && getBoard().canCastle(getColor(), c == 7))
+					mask |= 1L << Square.offset(getSquare(), c == 0 ? -2 : 2, 0);
+		return mask;
+	}
+
 	public Boolean isOpponentQueenAround()
 		{ return !getBoard().getPieceListByColor(getOpponentColor(), p -> p.isQueen()).isEmpty(); }
 
+	/**
+	 * O roque não captura, então as casas atacadas pelo rei são apenas as vizinhas
+	 */
 	@Override
 	public List<Position> getPossibleCaptureMoves()
-		{ return getPossibleMoves(); }
+		{ return getMailboxMoves(OFFSETS, false); }
 
 	@Override
 	public String toString()	
@@ -1,6 +1,5 @@
 package pieces;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import board.Board;
@@ -11,31 +10,24 @@ import piece.Piece;
 
 public class Knight extends Piece  {
 
+	// 8 directions (Mailbox offsets)
+	private static final int[] OFFSETS = {-21, -19, -12, -8, 8, 12, 19, 21};
+
 	public Knight(Board board, Position position, PieceColor color) 
 		{ super(board, position, PieceType.KNIGHT, color); }
 
 	@Override
-	public List<Position> getPossibleMoves() {
-		List<Position> moves = new ArrayList<>();
-		int[][] inc = {{-1,1,-2,2,-1,1,-2,2}, {-2,-2,-1,-1,2,2,1,1}};
-		Position p = new Position(getPosition());
-		// 8 directions check
-		for (int dir = 0; dir < 8; dir++) {
-			p.setPosition(getPosition());
-			p.incPosition(inc[0][dir], inc[1][dir]);
-			if (getBoard().isValidBoardPosition(p)) {
-				Piece piece = getBoard().getPieceAt(p);
-				if (piece == null || !isSameColorOf(piece))
-					moves.add(new Position(p));
-			}
-		}
-		return moves;
-	}
+	public List<Position> getPossibleMoves()
+		{ return getMailboxMoves(OFFSETS, false); }
 
 	@Override
 	public List<Position> getPossibleCaptureMoves()
 		{ return getPossibleMoves(); }
 
+	@Override
+	public long getPossibleTargetsMask()
+		{ return getMailboxMask(OFFSETS, false); }
+
 	@Override
 	public String toString()
 		{ return PieceType.KNIGHT.name(); }
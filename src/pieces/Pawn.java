@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import board.Board;
+import board.Square;
 import enums.PieceColor;
 import enums.PieceType;
 import gameutil.Position;
@@ -24,8 +25,7 @@ public class Pawn extends Piece {
 	
 	public List<Position> getPossibleMoves(Boolean captureMoves) {
 		List<Position> moves = new ArrayList<>();
-		Boolean swaped = getBoard().isSwappedBoard();
-		int inc = (isBlack() && !swaped) || (isWhite() && swaped) ? 1 : -1;
+		int inc = isBlack() ? 1 : -1;
 		Position p = new Position(getPosition());
 		Position p2 = new Position(p);
 		// Front check (1 or 2 steps further (2 if this piece was never moved before))
@@ -51,6 +51,37 @@ public class Pawn extends Piece {
 		return moves;
 	}
 
+	/**
+	 * Gera as mesmas casas do {@code getPossibleMoves(false)} e do {@code getPossibleMoves(true)} juntas,
+	 * direto pelas casas (ver {@code Square}) e sem criar posições
+	 */
+	@Override
+	public long getPossibleTargetsMask() {
+		int square = getSquare(), rankInc = isWhite() ? 1 : -1;
+		int front = Square.offset(square, 0, rankInc);
+		if (front == Square.NONE)
+			return 0;
+		long mask = 0;
+		if (getBoard().getPieceAt(front) == null) {
+			mask |= 1L << front;
+			int front2 = Square.offset(square, 0, rankInc * 2);
+			if (!wasMoved() && front2 != Square.NONE && getBoard().getPieceAt(front2) == null)
+				mask |= 1L << front2;
+		}
+		Piece enPassantPawn = getBoard().getEnPassantPawn();
+		for (int i = -1; i <= 1; i += 2) {
+			int target = Square.offset(square, i, rankInc);
+			if (target == Square.NONE)
+				continue;
+			Piece piece = getBoard().getPieceAt(target);
+			// Diagonal check for capture, or tile for En Passant special move
+			if (piece != null ? !isSameColorOf(piece) :
+					enPassantPawn != null && !isSameColorOf(enPassantPawn) && enPassantPawn.getSquare() == Square.offset(square, i, 0))
+						mask |= 1L << target;
+		}
+		return mask;
+	}
+
 	@Override
 	public String toString()
 		{ return PieceType.PAWN.name(); }
@@ -1,6 +1,5 @@
 package pieces;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import board.Board;
@@ -11,35 +10,24 @@ import piece.Piece;
 
 public class Queen extends Piece  {
 
+	// 8 directions (Mailbox offsets)
+	private static final int[] OFFSETS = {-11, -10, -9, -1, 1, 9, 10, 11};
+
 	public Queen(Board board, Position position, PieceColor color)
 		{ super(board, position, PieceType.QUEEN, color); }
 
 	@Override
-	public List<Position> getPossibleMoves() {
-		List<Position> moves = new ArrayList<>();
-		int[][] inc = {{-1,0,1,-1,1,-1,0,1}, {-1,-1,-1,0,0,1,1,1}};
-		Position p = new Position(getPosition());
-		// 8 directions check
-		for (int dir = 0; dir < 8; dir++) {
-			p.setPosition(getPosition());
-			while (getBoard().isValidBoardPosition(p)) {
-				p.incPosition(inc[0][dir], inc[1][dir]);
-				if (getBoard().isValidBoardPosition(p)) {
-					Piece piece = getBoard().getPieceAt(p);
-					if (piece == null || !isSameColorOf(piece)) 
-						moves.add(new Position(p));
-					if (piece != null)
-						break;
-				}
-			}
-		}
-		return moves;
-	}
+	public List<Position> getPossibleMoves()
+		{ return getMailboxMoves(OFFSETS, true); }
 
 	@Override
 	public List<Position> getPossibleCaptureMoves()
 		{ return getPossibleMoves(); }
 
+	@Override
+	public long getPossibleTargetsMask()
+		{ return getMailboxMask(OFFSETS, true); }
+
 	@Override
 	public String toString()
 		{ return PieceType.QUEEN.name(); }
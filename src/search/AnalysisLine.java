@@ -0,0 +1,65 @@
+package search;
+
+import java.util.Collections;
+import java.util.List;
+
+import board.Move;
+
+/**
+ * Uma das linhas retornadas pela análise: a jogada da raiz, o seu score e a variante principal
+ */
+public class AnalysisLine {
+
+	private final Move move;
+	private final int score;
+	private final int depth;
+	private final List<Move> principalVariation;
+
+	AnalysisLine(Move move, int score, int depth, List<Move> principalVariation) {
+		this.move = move;
+		this.score = score;
+		this.depth = depth;
+		this.principalVariation = Collections.unmodifiableList(principalVariation);
+	}
+
+	public Move getMove()
+		{ return move; }
+
+	/**
+	 * Retorna o score em centipeões, do ponto de vista da cor do turno atual da posição analisada
+	 */
+	public int getScore()
+		{ return score; }
+
+	public int getDepth()
+		{ return depth; }
+
+	/**
+	 * Retorna a sequência de jogadas esperada, começando pela jogada da raiz
+	 */
+	public List<Move> getPrincipalVariation()
+		{ return principalVariation; }
+
+	public Boolean isMate()
+		{ return Math.abs(score) >= Searcher.MATE_BOUND; }
+
+	/**
+	 * Retorna em quantos lances é o mate (negativo se a cor do turno atual for a que leva o mate), ou 0 se não for mate
+	 */
+	public int getMateIn() {
+		if (!isMate())
+			return 0;
+		int plies = Searcher.MATE - Math.abs(score);
+		return score > 0 ? (plies + 1) / 2 : -(plies + 1) / 2;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(isMate() ? "#" + getMateIn() : String.format("%+.2f", score / 100.0));
+		for (Move m : principalVariation)
+			sb.append(' ').append(m);
+		return sb.toString();
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,53 @@
+package search;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Resultado de uma chamada do {@code Searcher.analyse()}: as melhores linhas da última profundidade completa
+ */
+public class AnalysisResult {
+
+	private final List<AnalysisLine> lines;
+	private final int depth;
+	private final long nodes;
+	private final long elapsedNanos;
+
+	AnalysisResult(List<AnalysisLine> lines, int depth, long nodes, long elapsedNanos) {
+		this.lines = Collections.unmodifiableList(lines);
+		this.depth = depth;
+		this.nodes = nodes;
+		this.elapsedNanos = elapsedNanos;
+	}
+
+	/**
+	 * Retorna as linhas analisadas, da melhor para a pior
+	 */
+	public List<AnalysisLine> getLines()
+		{ return lines; }
+
+	public AnalysisLine getBestLine()
+		{ return lines.get(0); }
+
+	/**
+	 * Retorna a última profundidade completamente analisada
+	 */
+	public int getDepth()
+		{ return depth; }
+
+	public long getNodes()
+		{ return nodes; }
+
+	public long getElapsedNanos()
+		{ return elapsedNanos; }
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("depth ").append(depth).append(", ").append(nodes).append(" nodes, ").append(elapsedNanos / 1000000).append(" ms\n");
+		for (int n = 0; n < lines.size(); n++)
+			sb.append(n + 1).append(". ").append(lines.get(n)).append('\n');
+		return sb.toString();
+	}
+
+}
\ No newline at end of file
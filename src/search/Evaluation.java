@@ -0,0 +1,60 @@
+package search;
+
+import board.Board;
+import enums.PieceColor;
+import enums.PieceType;
+import piece.Piece;
+
+/**
+ * Avaliação estática usada pela busca, em centipeões e sempre do ponto de vista da cor do turno atual.
+ * Considera o material e um pequeno bônus de posição (centralização das pedras menores e avanço dos peões).
+ */
+public final class Evaluation {
+
+	private static final int[] VALUES = new int[PieceType.values().length];
+	private static final int[] CENTER = {0, 4, 8, 10, 10, 8, 4, 0};
+
+	static {
+		VALUES[PieceType.PAWN.ordinal()] = 100;
+		VALUES[PieceType.KNIGHT.ordinal()] = 320;
+		VALUES[PieceType.BISHOP.ordinal()] = 330;
+		VALUES[PieceType.ROOK.ordinal()] = 500;
+		VALUES[PieceType.QUEEN.ordinal()] = 900;
+		VALUES[PieceType.KING.ordinal()] = 0;
+	}
+
+	private Evaluation() {}
+
+	/**
+	 * Retorna o valor da pedra em centipeões (o rei vale 0, já que nunca é capturado)
+	 */
+	public static int getValue(PieceType type)
+		{ return VALUES[type.ordinal()]; }
+
+	public static int evaluate(Board board) {
+		Piece[][] grid = board.getGrid();
+		int score = 0;
+		for (int x = 0; x < 8; x++)
+			for (int y = 0; y < 8; y++) {
+				Piece piece = grid[x][y];
+				if (piece == null)
+					continue;
+				int value = VALUES[piece.getType().ordinal()];
+				switch (piece.getType()) {
+					case KNIGHT:
+					case BISHOP:
+						value += CENTER[x] + CENTER[y];
+						break;
+					case PAWN:
+						// Linha 0 é a 8ª fileira, então as brancas avançam diminuindo o y
+						value += (piece.getColor() == PieceColor.WHITE ? 6 - y : y - 1) * 5 + CENTER[x] / 2;
+						break;
+					default:
+						break;
+				}
+				score += piece.getColor() == PieceColor.WHITE ? value : -value;
+			}
+		return board.getCurrentColorTurn() == PieceColor.WHITE ? score : -score;
+	}
+
+}
\ No newline at end of file
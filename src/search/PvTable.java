@@ -0,0 +1,56 @@
+package search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import board.Move;
+
+/**
+ * Tabela triangular da variante principal: a linha de cada distância da raiz ({@code ply}) guarda a melhor
+ * sequência encontrada á partir daquele nó, e é montada com a jogada do nó seguida da linha do nó filho.
+ * Após uma busca, a linha 0 contém a variante principal da melhor jogada da raiz.
+ */
+public class PvTable {
+
+	private final Move[][] moves;
+	private final int[] lengths;
+
+	public PvTable(int maxPly) {
+		moves = new Move[maxPly][maxPly];
+		lengths = new int[maxPly];
+	}
+
+	/**
+	 * Descarta a linha da distância informada (chamado ao entrar em cada nó)
+	 */
+	void clear(int ply)
+		{ lengths[ply] = ply; }
+
+	/**
+	 * Define a linha da distância informada como a jogada informada seguida da linha do nó filho
+	 */
+	void update(int ply, Move move) {
+		moves[ply][ply] = move;
+		int length = ply + 1 < lengths.length ? lengths[ply + 1] : ply + 1;
+		for (int n = ply + 1; n < length; n++)
+			moves[ply][n] = moves[ply + 1][n];
+		lengths[ply] = Math.max(length, ply + 1);
+	}
+
+	/**
+	 * Retorna o total de jogadas da linha da distância informada
+	 */
+	public int getLength(int ply)
+		{ return lengths[ply] - ply; }
+
+	/**
+	 * Retorna a linha da distância informada, começando pela jogada feita naquele nó
+	 */
+	public List<Move> getLine(int ply) {
+		List<Move> line = new ArrayList<>(getLength(ply));
+		for (int n = ply; n < lengths[ply]; n++)
+			line.add(moves[ply][n]);
+		return line;
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,11 @@
+package search;
+
+@FunctionalInterface
+public interface SearchListener {
+
+	/**
+	 * Chamado pela thread da busca ao final de cada profundidade completa, com as linhas encontradas até ela
+	 */
+	void depthCompleted(AnalysisResult result);
+
+}
\ No newline at end of file
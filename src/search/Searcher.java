@@ -0,0 +1,590 @@
+package search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import board.Board;
+import board.BoardPool;
+import board.MaterialKey;
+import board.Move;
+import enums.PieceColor;
+import enums.PieceType;
+import exceptions.GameException;
+import exceptions.PromotionException;
+import piece.Piece;
+
+/**
+ * Busca alpha-beta (negamax com aprofundamento iterativo e quiescência) sobre uma cópia do tabuleiro.
+ * Todas as linhas da análise multi-PV compartilham a mesma árvore e a mesma tabela de transposição:
+ * a cada profundidade, a melhor jogada é excluída da raiz e a busca é repetida para achar a próxima linha.
+ * A busca é uma PVS com janela de aspiração na raiz, e a variante de cada linha vem da {@code PvTable}.
+ * Não é thread-safe: use um {@code Searcher} para cada thread. Apenas {@code stop()} e {@code setTimeLimit()}
+ * podem ser chamados por outra thread durante a busca.
+ */
+public class Searcher {
+
+	public static final int INFINITE = 1000000;
+	public static final int MATE = 100000;
+	public static final int MAX_PLY = 64;
+	static final int MATE_BOUND = MATE - MAX_PLY;
+
+	private static final int DEFAULT_TABLE_BITS = 18;
+	private static final int TIME_CHECK_NODES = 16;
+	private static final int NULL_MOVE_MIN_DEPTH = 3;
+	private static final int LMR_MIN_DEPTH = 3;
+	private static final int LMR_MIN_MOVES = 3;
+	private static final int[] FUTILITY_MARGINS = {0, 200, 450};
+	private static final int REVERSE_FUTILITY_MARGIN = 120;
+	private static final int REVERSE_FUTILITY_MAX_DEPTH = 3;
+	private static final int ASPIRATION_MIN_DEPTH = 3;
+	private static final int ASPIRATION_WINDOW = 35;
+	private static final int ASPIRATION_MAX_WINDOW = 1000;
+	private static final long NO_DEADLINE_REQUEST = -1;
+
+	private final TranspositionTable table;
+	private final PvTable pvTable;
+	private SearchListener listener;
+	private long nodes;
+	private long maxNodes;
+	private volatile long deadline;
+	// Tempo limite pedido por outra thread, aplicado pela próxima análise se ela ainda não tiver começado
+	private volatile long requestedDeadline;
+	private volatile boolean stopRequested;
+	private Boolean canStop;
+	private Boolean stopped;
+	private Boolean nullMovePruning;
+	private Boolean lateMoveReductions;
+	private Boolean futilityPruning;
+	private Boolean reverseFutilityPruning;
+
+	/**
+	 * Construtor que recebe o total de bits do índice da tabela de transposição (ver {@link TranspositionTable})
+	 */
+	public Searcher(int tableBits) {
+		table = new TranspositionTable(tableBits);
+		pvTable = new PvTable(MAX_PLY);
+		nullMovePruning = true;
+		lateMoveReductions = true;
+		futilityPruning = true;
+		reverseFutilityPruning = true;
+		requestedDeadline = NO_DEADLINE_REQUEST;
+	}
+
+	public Searcher()
+		{ this(DEFAULT_TABLE_BITS); }
+
+	public TranspositionTable getTranspositionTable()
+		{ return table; }
+
+	/**
+	 * Retorna a tabela triangular da variante principal. Ao final de cada linha da raiz, a linha 0 da tabela
+	 * contém a variante daquela linha (a mesma copiada para o {@code AnalysisLine})
+	 */
+	public PvTable getPvTable()
+		{ return pvTable; }
+
+	public Boolean isNullMovePruning()
+		{ return nullMovePruning; }
+
+	/**
+	 * Liga ou desliga a poda por "null move": se mesmo passando a vez a posição ainda fica acima de beta,
+	 * o nó é cortado com uma busca reduzida. Não é usada em check nem quando o lado da vez só tem rei e peões,
+	 * onde o zugzwang é comum (Padrão: ligada)
+	 */
+	public void setNullMovePruning(Boolean enabled)
+		{ nullMovePruning = enabled; }
+
+	public Boolean isLateMoveReductions()
+		{ return lateMoveReductions; }
+
+	/**
+	 * Liga ou desliga a redução de profundidade das jogadas calmas que aparecem tarde na ordenação
+	 * (repetindo a busca na profundidade normal se a jogada surpreender) (Padrão: ligada)
+	 */
+	public void setLateMoveReductions(Boolean enabled)
+		{ lateMoveReductions = enabled; }
+
+	public Boolean isFutilityPruning()
+		{ return futilityPruning; }
+
+	/**
+	 * Liga ou desliga o descarte das jogadas calmas perto das folhas quando a avaliação mais uma margem
+	 * não alcança alpha (Padrão: ligada)
+	 */
+	public void setFutilityPruning(Boolean enabled)
+		{ futilityPruning = enabled; }
+
+	public Boolean isReverseFutilityPruning()
+		{ return reverseFutilityPruning; }
+
+	/**
+	 * Liga ou desliga o corte dos nós perto das folhas quando a avaliação menos uma margem ainda fica acima de beta (Padrão: ligada)
+	 */
+	public void setReverseFutilityPruning(Boolean enabled)
+		{ reverseFutilityPruning = enabled; }
+
+	/**
+	 * Define o listener chamado ao final de cada profundidade completa da análise (ou {@code null} para nenhum)
+	 */
+	public void setListener(SearchListener listener)
+		{ this.listener = listener; }
+
+	/**
+	 * Interrompe a análise em andamento assim que a profundidade 1 estiver completa. Pode ser chamado por outra thread.
+	 */
+	public void stop()
+		{ stopRequested = true; }
+
+	/**
+	 * Altera o tempo limite da análise em andamento, contado á partir de agora (0 = sem limite).
+	 * Pode ser chamado por outra thread (ex: ao confirmar um "ponder"). Se a análise ainda não tiver
+	 * começado, o tempo limite informado substitui o tempo limite recebido pelo {@code analyse()}.
+	 */
+	public void setTimeLimit(long maxTimeMillis) {
+		long time = getDeadline(maxTimeMillis);
+		requestedDeadline = time;
+		deadline = time;
+	}
+
+	private static long getDeadline(long maxTimeMillis)
+		{ return maxTimeMillis == 0 ? 0 : System.nanoTime() + maxTimeMillis * 1000000; }
+
+	/**
+	 * Analisa a posição até a profundidade informada, retornando as {@code multiPv} melhores jogadas
+	 */
+	public AnalysisResult analyse(Board board, int depth, int multiPv)
+		{ return analyse(board, depth, 0, 0, multiPv); }
+
+	/**
+	 * Analisa a posição até a profundidade máxima ou até o tempo limite (em milissegundos, 0 = sem limite)
+	 */
+	public AnalysisResult analyse(Board board, int maxDepth, long maxTimeMillis, int multiPv)
+		{ return analyse(board, maxDepth, maxTimeMillis, 0, multiPv); }
+
+	/**
+	 * Analisa a posição até a profundidade máxima, o tempo limite (em milissegundos) ou o total de nós
+	 * (0 = sem limite de tempo ou de nós), o que acontecer primeiro, ou até {@code stop()} ser chamado.
+	 * Retorna as {@code multiPv} melhores jogadas da última profundidade completa.
+	 * A profundidade 1 é sempre completada. As jogadas são testadas direto no tabuleiro informado, que volta
+	 * para a posição original no final, então ele não deve ser usado por outra thread durante a análise.
+	 */
+	public AnalysisResult analyse(Board board, int maxDepth, long maxTimeMillis, long maxNodes, int multiPv) {
+		if (maxDepth < 1 || maxDepth >= MAX_PLY)
+			throw new GameException("maxDepth must be between 1 and " + (MAX_PLY - 1));
+		if (maxTimeMillis < 0 || maxNodes < 0)
+			throw new GameException("maxTimeMillis and maxNodes can't be negative");
+		if (multiPv < 1)
+			throw new GameException("multiPv must be higher than 0");
+		long startTime = System.nanoTime();
+		nodes = 0;
+		this.maxNodes = maxNodes;
+		deadline = getDeadline(maxTimeMillis);
+		// O pedido é lido depois de definir o tempo limite: se ele chegar depois da leitura, o setTimeLimit() já altera o deadline
+		long requested = requestedDeadline;
+		requestedDeadline = NO_DEADLINE_REQUEST;
+		if (requested != NO_DEADLINE_REQUEST)
+			deadline = requested;
+		stopRequested = false;
+		canStop = false;
+		stopped = false;
+		Board recBoard = BoardPool.acquire(board);
+		try {
+			List<Move> moves = board.getLegalMoves();
+			if (moves.isEmpty())
+				throw new GameException("There are no legal moves in this position");
+			multiPv = Math.min(multiPv, moves.size());
+			List<AnalysisLine> lines = new ArrayList<>();
+			int completedDepth = 0;
+			for (int depth = 1; depth <= maxDepth; depth++) {
+				List<AnalysisLine> depthLines = searchRoot(board, recBoard, moves, depth, multiPv, lines);
+				if (stopped)
+					break;
+				lines = depthLines;
+				completedDepth = depth;
+				canStop = true;
+				if (listener != null)
+					listener.depthCompleted(new AnalysisResult(lines, completedDepth, nodes, System.nanoTime() - startTime));
+				if (isTimeToStop())
+					break;
+			}
+			return new AnalysisResult(lines, completedDepth, nodes, System.nanoTime() - startTime);
+		}
+		finally {
+			Board.cloneBoard(recBoard, board);
+			BoardPool.release(recBoard);
+		}
+	}
+
+	/**
+	 * Busca as linhas da raiz na profundidade informada. A primeira linha começa com uma janela de aspiração
+	 * centrada no score da profundidade anterior, que é alargada (e a busca repetida) sempre que o score cai fora dela.
+	 */
+	private List<AnalysisLine> searchRoot(Board root, Board recBoard, List<Move> moves, int depth, int multiPv, List<AnalysisLine> previousLines) {
+		int[] order = orderRootMoves(moves, previousLines);
+		boolean[] excluded = new boolean[moves.size()];
+		List<AnalysisLine> lines = new ArrayList<>();
+		for (int pv = 0; pv < multiPv; pv++) {
+			int alpha = -INFINITE, beta = INFINITE, delta = ASPIRATION_WINDOW;
+			if (pv == 0 && depth >= ASPIRATION_MIN_DEPTH && !previousLines.isEmpty() && !previousLines.get(0).isMate()) {
+				alpha = previousLines.get(0).getScore() - delta;
+				beta = previousLines.get(0).getScore() + delta;
+			}
+			int[] best;
+			while (true) {
+				best = searchRootLine(root, recBoard, moves, order, excluded, depth, alpha, beta);
+				if (stopped)
+					return lines;
+				if ((best[1] > alpha || alpha == -INFINITE) && (best[1] < beta || beta == INFINITE))
+					break;
+				delta *= 2;
+				if (best[1] <= alpha)
+					alpha = delta > ASPIRATION_MAX_WINDOW ? -INFINITE : Math.max(best[1] - delta, -INFINITE);
+				else
+					beta = delta > ASPIRATION_MAX_WINDOW ? INFINITE : Math.min(best[1] + delta, INFINITE);
+			}
+			excluded[best[0]] = true;
+			// A tabela guarda o índice da jogada na lista do getPseudoLegalMoves(), usada pelos demais nós
+			if (pv == 0)
+				table.store(root.getPositionKey(), depth, best[1], TranspositionTable.EXACT, root.getPseudoLegalMoves().indexOf(moves.get(best[0])), 0);
+			lines.add(new AnalysisLine(moves.get(best[0]), best[1], depth, pvTable.getLine(0)));
+		}
+		return lines;
+	}
+
+	/**
+	 * Busca as jogadas da raiz que ainda não foram excluídas, retornando o índice da melhor jogada e o seu score
+	 */
+	private int[] searchRootLine(Board root, Board recBoard, List<Move> moves, int[] order, boolean[] excluded, int depth, int alpha, int beta) {
+		pvTable.clear(0);
+		int bestScore = -INFINITE, bestIndex = -1, searchedMoves = 0;
+		for (int index : order) {
+			if (excluded[index])
+				continue;
+			play(root, moves.get(index));
+			int score;
+			if (searchedMoves == 0)
+				score = -search(root, depth - 1, -beta, -alpha, 1, true);
+			else {
+				score = -search(root, depth - 1, -alpha - 1, -alpha, 1, true);
+				if (score > alpha && score < beta && !stopped)
+					score = -search(root, depth - 1, -beta, -alpha, 1, true);
+			}
+			Board.cloneBoard(recBoard, root);
+			if (stopped)
+				break;
+			searchedMoves++;
+			if (score > bestScore) {
+				bestScore = score;
+				bestIndex = index;
+				if (score > alpha) {
+					alpha = score;
+					pvTable.update(0, moves.get(index));
+				}
+				if (alpha >= beta)
+					break;
+			}
+		}
+		return new int[] {bestIndex, bestScore};
+	}
+
+	/**
+	 * Busca com variante principal (PVS): apenas a primeira jogada usa a janela completa, e as demais usam uma
+	 * janela nula, sendo buscadas de novo com a janela completa apenas se superarem alpha
+	 */
+	private int search(Board board, int depth, int alpha, int beta, int ply, Boolean allowNullMove) {
+		if (depth <= 0 || ply >= MAX_PLY - 1)
+			return quiescence(board, alpha, beta, ply);
+		pvTable.clear(ply);
+		if (countNode())
+			return 0;
+		if (isDraw(board))
+			return 0;
+		Boolean pvNode = beta - alpha > 1;
+		long key = board.getPositionKey();
+		int ttMove = -1;
+		if (table.probe(key)) {
+			ttMove = table.getMoveIndex();
+			// Nos nós da variante principal a busca continua, para a tabela triangular ter a linha completa
+			if (!pvNode && table.getDepth() >= depth) {
+				int score = table.getScore(ply);
+				int bound = table.getBound();
+				if (bound == TranspositionTable.EXACT ||
+						(bound == TranspositionTable.LOWER_BOUND && score >= beta) ||
+						(bound == TranspositionTable.UPPER_BOUND && score <= alpha))
+							return score;
+			}
+		}
+		Boolean inCheck = board.isChecked();
+		// Nós em check e scores de mate ficam fora das podas
+		Boolean canPrune = !inCheck && Math.abs(beta) < MATE_BOUND && Math.abs(alpha) < MATE_BOUND;
+		int staticEval = canPrune ? Evaluation.evaluate(board) : 0;
+		if (canPrune && !pvNode && reverseFutilityPruning && depth <= REVERSE_FUTILITY_MAX_DEPTH &&
+				staticEval - REVERSE_FUTILITY_MARGIN * depth >= beta)
+					return staticEval - REVERSE_FUTILITY_MARGIN * depth;
+		if (canPrune && !pvNode && nullMovePruning && allowNullMove && depth >= NULL_MOVE_MIN_DEPTH &&
+				staticEval >= beta && hasNonPawnMaterial(board)) {
+					Board recBoard = BoardPool.acquire(board);
+					try {
+						board.makeNullMove();
+						int score = -search(board, depth - 1 - (depth > 6 ? 3 : 2), -beta, -beta + 1, ply + 1, false);
+						Board.cloneBoard(recBoard, board);
+						if (stopped)
+							return 0;
+						if (score >= beta)
+							return score >= MATE_BOUND ? beta : score;
+					}
+					finally
+						{ BoardPool.release(recBoard); }
+		}
+		// As jogadas não são testadas antes: as ilegais são descartadas ao serem executadas
+		List<Move> moves = board.getPseudoLegalMoves();
+		int[] order = orderMoves(board, moves, ttMove, false);
+		Boolean futile = canPrune && !pvNode && futilityPruning && depth < FUTILITY_MARGINS.length &&
+			staticEval + FUTILITY_MARGINS[depth] <= alpha;
+		int alphaStart = alpha, bestScore = -INFINITE, bestIndex = -1, searchedMoves = 0, legalMoves = 0;
+		Board recBoard = BoardPool.acquire(board);
+		try {
+			for (int index : order) {
+				Move move = moves.get(index);
+				Boolean quietMove = isQuiet(board, move);
+				if (!play(board, move))
+					continue;
+				legalMoves++;
+				// Só depois de executar a jogada se sabe se ela dá check, e as que dão check não são calmas
+				Boolean givesCheck = board.isChecked();
+				Boolean quiet = quietMove && !givesCheck;
+				if (futile && quiet && searchedMoves > 0) {
+					Board.cloneBoard(recBoard, board);
+					continue;
+				}
+				int score;
+				if (searchedMoves == 0)
+					score = -search(board, depth - 1, -beta, -alpha, ply + 1, true);
+				else {
+					// Jogadas calmas do fim da lista dificilmente são as melhores: começam com uma busca reduzida
+					if (lateMoveReductions && depth >= LMR_MIN_DEPTH && searchedMoves >= LMR_MIN_MOVES && quiet && !inCheck)
+						score = -search(board, depth - 1 - (searchedMoves >= LMR_MIN_MOVES * 2 ? 2 : 1), -alpha - 1, -alpha, ply + 1, true);
+					else
+						score = alpha + 1;
+					if (score > alpha && !stopped)
+						score = -search(board, depth - 1, -alpha - 1, -alpha, ply + 1, true);
+					if (score > alpha && score < beta && !stopped)
+						score = -search(board, depth - 1, -beta, -alpha, ply + 1, true);
+				}
+				Board.cloneBoard(recBoard, board);
+				if (stopped)
+					return 0;
+				searchedMoves++;
+				if (score > bestScore) {
+					bestScore = score;
+					bestIndex = index;
+					if (score > alpha) {
+						alpha = score;
+						pvTable.update(ply, move);
+					}
+					if (alpha >= beta)
+						break;
+				}
+			}
+		}
+		finally
+			{ BoardPool.release(recBoard); }
+		if (legalMoves == 0)
+			return inCheck ? -MATE + ply : 0;
+		int bound = bestScore >= beta ? TranspositionTable.LOWER_BOUND :
+			bestScore > alphaStart ? TranspositionTable.EXACT : TranspositionTable.UPPER_BOUND;
+		table.store(key, depth, bestScore, bound, bestIndex, ply);
+		return bestScore;
+	}
+
+	private static Boolean isQuiet(Board board, Move move)
+		{ return move.getPromotionType() == null && getCapturedType(board, move) == null; }
+
+	/**
+	 * Retorna o tipo da pedra capturada pela jogada, ou {@code null} se ela não for uma captura.
+	 * Na captura "En Passant" o peão anda na diagonal para uma casa vazia, e a pedra capturada é um peão.
+	 */
+	private static PieceType getCapturedType(Board board, Move move) {
+		Piece target = board.getPieceAt(move.getTargetPosition());
+		if (target != null)
+			return target.getType();
+		if (move.getSourcePosition().getX() != move.getTargetPosition().getX() && board.getPieceAt(move.getSourcePosition()).isPawn())
+			return PieceType.PAWN;
+		return null;
+	}
+
+	/**
+	 * Verifica se a cor da vez tem alguma pedra além do rei e dos peões (sem elas, o "null move" não é seguro por causa do zugzwang)
+	 */
+	private static Boolean hasNonPawnMaterial(Board board) {
+		long key = board.getMaterialKey();
+		PieceColor color = board.getCurrentColorTurn();
+		return MaterialKey.getCount(key, color, PieceType.KNIGHT) + MaterialKey.getCount(key, color, PieceType.BISHOP) +
+			MaterialKey.getCount(key, color, PieceType.ROOK) + MaterialKey.getCount(key, color, PieceType.QUEEN) > 0;
+	}
+
+	/**
+	 * Continua a busca apenas com capturas e promoções, até a posição ficar "calma". Em check não há
+	 * "stand pat": todas as jogadas que saem do check são buscadas, e se não houver nenhuma é mate.
+	 */
+	private int quiescence(Board board, int alpha, int beta, int ply) {
+		pvTable.clear(ply);
+		if (countNode())
+			return 0;
+		if (ply >= MAX_PLY - 1)
+			return Evaluation.evaluate(board);
+		Boolean inCheck = board.isChecked();
+		int standPat = -INFINITE;
+		if (!inCheck) {
+			standPat = Evaluation.evaluate(board);
+			if (standPat >= beta)
+				return standPat;
+			if (standPat > alpha)
+				alpha = standPat;
+		}
+		List<Move> moves = board.getPseudoLegalMoves();
+		int[] order = orderMoves(board, moves, -1, !inCheck);
+		if (order.length == 0)
+			return inCheck ? -MATE + ply : standPat;
+		int legalMoves = 0;
+		Board recBoard = BoardPool.acquire(board);
+		try {
+			for (int index : order) {
+				if (!play(board, moves.get(index)))
+					continue;
+				legalMoves++;
+				int score = -quiescence(board, -beta, -alpha, ply + 1);
+				Board.cloneBoard(recBoard, board);
+				if (stopped)
+					return 0;
+				if (score >= beta)
+					return score;
+				if (score > alpha)
+					alpha = score;
+			}
+		}
+		finally
+			{ BoardPool.release(recBoard); }
+		if (inCheck && legalMoves == 0)
+			return -MATE + ply;
+		return legalMoves == 0 ? standPat : alpha;
+	}
+
+	/**
+	 * Conta o nó visitado e retorna {@code true} se a busca deve ser interrompida
+	 */
+	private Boolean countNode() {
+		if (++nodes % TIME_CHECK_NODES == 0 && canStop && isTimeToStop())
+			stopped = true;
+		return stopped;
+	}
+
+	private Boolean isTimeToStop() {
+		long time = deadline;
+		return stopRequested || (maxNodes != 0 && nodes >= maxNodes) || (time != 0 && System.nanoTime() > time);
+	}
+
+	private static Boolean isDraw(Board board) {
+		return board.isRepetition() || board.getTurnsWithoutCapturesAndPawnMove() >= 100 ||
+			MaterialKey.isInsufficientMaterial(board.getMaterialKey());
+	}
+
+	/**
+	 * Retorna os índices das jogadas ordenados pela prioridade de busca: jogada da tabela de transposição,
+	 * capturas (MVV-LVA), promoções e depois as demais. Se {@code onlyCaptures} for {@code true},
+	 * retorna apenas as capturas e promoções.
+	 */
+	private static int[] orderMoves(Board board, List<Move> moves, int ttMove, Boolean onlyCaptures) {
+		int[] indexes = new int[moves.size()];
+		int[] priorities = new int[moves.size()];
+		int total = 0;
+		for (int n = 0; n < moves.size(); n++) {
+			Move move = moves.get(n);
+			PieceType captured = getCapturedType(board, move);
+			int priority = 0;
+			if (captured != null)
+				priority += 10 * Evaluation.getValue(captured) - Evaluation.getValue(board.getPieceAt(move.getSourcePosition()).getType()) / 10 + 1;
+			if (move.getPromotionType() != null)
+				priority += Evaluation.getValue(move.getPromotionType());
+			if (onlyCaptures && priority <= 0)
+				continue;
+			if (n == ttMove)
+				priority = INFINITE;
+			// Ordenação por inserção, mantendo a ordem original entre jogadas de mesma prioridade
+			int i = total++;
+			for (; i > 0 && priorities[i - 1] < priority; i--) {
+				indexes[i] = indexes[i - 1];
+				priorities[i] = priorities[i - 1];
+			}
+			indexes[i] = n;
+			priorities[i] = priority;
+		}
+		return total == indexes.length ? indexes : Arrays.copyOf(indexes, total);
+	}
+
+	/**
+	 * Ordena as jogadas da raiz colocando primeiro as linhas da profundidade anterior, na mesma ordem
+	 */
+	private static int[] orderRootMoves(List<Move> moves, List<AnalysisLine> previousLines) {
+		int[] order = new int[moves.size()];
+		boolean[] added = new boolean[moves.size()];
+		int total = 0;
+		for (AnalysisLine line : previousLines) {
+			int index = moves.indexOf(line.getMove());
+			order[total++] = index;
+			added[index] = true;
+		}
+		for (int n = 0; n < moves.size(); n++)
+			if (!added[n])
+				order[total++] = n;
+		return order;
+	}
+
+	/**
+	 * Conta as posições alcançadas por todas as sequências de jogadas legais com a profundidade informada ("perft").
+	 * Comparar o total com os valores conhecidos de cada posição confere a geração de jogadas, inclusive os roques,
+	 * o "En Passant" e as promoções. As jogadas são testadas direto no tabuleiro informado, que volta para a posição original.
+	 */
+	public static long perft(Board board, int depth) {
+		if (depth < 0)
+			throw new GameException("depth can't be negative");
+		return countPositions(board, depth);
+	}
+
+	private static long countPositions(Board board, int depth) {
+		if (depth == 0)
+			return 1;
+		List<Move> moves = board.getLegalMoves();
+		if (depth == 1)
+			return moves.size();
+		long total = 0;
+		Board recBoard = BoardPool.acquire(board);
+		try {
+			for (Move move : moves) {
+				play(board, move);
+				total += countPositions(board, depth - 1);
+				Board.cloneBoard(recBoard, board);
+			}
+		}
+		finally
+			{ BoardPool.release(recBoard); }
+		return total;
+	}
+
+	/**
+	 * Executa a jogada e retorna {@code true}, ou retorna {@code false} sem alterar o tabuleiro se ela deixar o próprio rei em check
+	 */
+	private static Boolean play(Board board, Move move) {
+		if (!board.tryMove(move.getSourcePosition(), move.getTargetPosition()).isLegal())
+			return false;
+		try {
+			if (board.pawnWasPromoted())
+				board.promotePawnTo(move.getPromotionType() == null ? PieceType.QUEEN : move.getPromotionType());
+		}
+		catch (PromotionException e)
+			{ throw new GameException(e.getMessage()); }
+		return true;
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,108 @@
+package search;
+
+import java.util.Arrays;
+
+/**
+ * Tabela de transposição da busca, indexada pela chave de Zobrist da posição ({@code Board.getPositionKey()}).
+ * Cada entrada guarda a profundidade, o score, o tipo do limite e o índice da melhor jogada na lista
+ * de {@code Board.getPseudoLegalMoves()}, em arrays primitivos. Não é thread-safe: use uma tabela por busca.
+ */
+public class TranspositionTable {
+
+	public static final int EXACT = 0;
+	public static final int LOWER_BOUND = 1;
+	public static final int UPPER_BOUND = 2;
+
+	private final long[] keys;
+	private final int[] scores;
+	private final byte[] depths;
+	private final byte[] bounds;
+	private final short[] moves;
+	private final int mask;
+	private int foundIndex;
+
+	/**
+	 * Construtor que recebe o total de bits do índice da tabela (a tabela terá {@code 2^bits} entradas)
+	 */
+	public TranspositionTable(int bits) {
+		if (bits < 1 || bits > 26)
+			throw new IllegalArgumentException("bits must be between 1 and 26");
+		int size = 1 << bits;
+		keys = new long[size];
+		scores = new int[size];
+		depths = new byte[size];
+		bounds = new byte[size];
+		moves = new short[size];
+		mask = size - 1;
+		clear();
+	}
+
+	public final void clear() {
+		Arrays.fill(keys, 0);
+		Arrays.fill(depths, (byte)-1);
+		Arrays.fill(moves, (short)-1);
+	}
+
+	public int size()
+		{ return keys.length; }
+
+	/**
+	 * Retorna a ocupação da tabela em milésimos, estimada pelas primeiras 1000 entradas
+	 */
+	public int getHashfull() {
+		int total = Math.min(1000, keys.length), used = 0;
+		for (int n = 0; n < total; n++)
+			if (depths[n] >= 0)
+				used++;
+		return used * 1000 / total;
+	}
+
+	/**
+	 * Procura a chave informada. Se encontrar, os métodos {@code getDepth()}, {@code getScore()},
+	 * {@code getBound()} e {@code getMoveIndex()} passam a retornar os dados da entrada encontrada.
+	 */
+	public Boolean probe(long key) {
+		int index = (int)key & mask;
+		if (keys[index] != key || depths[index] < 0)
+			return false;
+		foundIndex = index;
+		return true;
+	}
+
+	public int getDepth()
+		{ return depths[foundIndex]; }
+
+	/**
+	 * Retorna o score da entrada encontrada, com o score de mate ajustado para a distância da raiz informada
+	 */
+	public int getScore(int ply) {
+		int score = scores[foundIndex];
+		return score >= Searcher.MATE_BOUND ? score - ply : score <= -Searcher.MATE_BOUND ? score + ply : score;
+	}
+
+	public int getBound()
+		{ return bounds[foundIndex]; }
+
+	/**
+	 * Retorna o índice da melhor jogada da entrada encontrada, ou -1 se não houver
+	 */
+	public int getMoveIndex()
+		{ return moves[foundIndex]; }
+
+	/**
+	 * Grava uma entrada. O score de mate é guardado relativo á posição (e não á raiz), para poder ser
+	 * reaproveitado em outras distâncias. Uma entrada da mesma posição só é substituída por uma busca
+	 * de profundidade igual ou maior.
+	 */
+	public void store(long key, int depth, int score, int bound, int moveIndex, int ply) {
+		int index = (int)key & mask;
+		if (keys[index] == key && depths[index] > depth)
+			return;
+		keys[index] = key;
+		depths[index] = (byte)Math.min(depth, Byte.MAX_VALUE);
+		scores[index] = score >= Searcher.MATE_BOUND ? score + ply : score <= -Searcher.MATE_BOUND ? score - ply : score;
+		bounds[index] = (byte)bound;
+		moves[index] = (short)moveIndex;
+	}
+
+}
\ No newline at end of file
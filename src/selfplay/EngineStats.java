@@ -0,0 +1,40 @@
+package selfplay;
+
+/**
+ * Desempenho de um dos lados de um {@code SprtRunner}: total de jogadas, de nós e de tempo gasto escolhendo as jogadas
+ */
+public class EngineStats {
+
+	private long moves;
+	private long nodes;
+	private long moveNanos;
+
+	synchronized void add(long nodes, long moveNanos) {
+		moves++;
+		this.nodes += nodes;
+		this.moveNanos += moveNanos;
+	}
+
+	public synchronized long getMoves()
+		{ return moves; }
+
+	public synchronized long getNodes()
+		{ return nodes; }
+
+	/**
+	 * Retorna os nós analisados por segundo (0 se o jogador não conta nós)
+	 */
+	public synchronized double getNodesPerSecond()
+		{ return moveNanos == 0 ? 0 : nodes / (moveNanos / 1e9); }
+
+	/**
+	 * Retorna o tempo médio para escolher uma jogada, em milissegundos
+	 */
+	public synchronized double getAverageMoveMillis()
+		{ return moves == 0 ? 0 : moveNanos / 1e6 / moves; }
+
+	@Override
+	public synchronized String toString()
+		{ return String.format("%d moves, %.0f nps, %.2f ms/move", moves, getNodesPerSecond(), getAverageMoveMillis()); }
+
+}
\ No newline at end of file
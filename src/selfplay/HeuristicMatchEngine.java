@@ -0,0 +1,65 @@
+package selfplay;
+
+import java.util.SplittableRandom;
+
+import board.Board;
+import board.Move;
+import enums.PieceType;
+import exceptions.GameException;
+import exceptions.PieceMoveException;
+import exceptions.PieceSelectionException;
+import exceptions.PromotionException;
+import gameutil.Position;
+
+/**
+ * Jogador que usa a heurística do {@code ChessAI} do próprio tabuleiro, com a sua própria sequência aleatória
+ * e a sua própria configuração. Os dois jogadores de uma partida usam o mesmo {@code ChessAI} (o do tabuleiro),
+ * então a configuração é aplicada antes de cada jogada.
+ */
+public class HeuristicMatchEngine implements MatchEngine {
+
+	private final SplittableRandom random;
+	private final int disabledChoices;
+
+	/**
+	 * Construtor que recebe a sequência aleatória e as lógicas de pontuação desligadas (ver {@code ChessAI.setDisabledChoices()})
+	 */
+	public HeuristicMatchEngine(SplittableRandom random, int disabledChoices) {
+		if (random == null)
+			throw new NullPointerException("\"random\" is null");
+		this.random = random;
+		this.disabledChoices = disabledChoices;
+	}
+
+	public HeuristicMatchEngine(SplittableRandom random)
+		{ this(random, 0); }
+
+	public HeuristicMatchEngine(int disabledChoices)
+		{ this(new SplittableRandom(), disabledChoices); }
+
+	public HeuristicMatchEngine()
+		{ this(new SplittableRandom()); }
+
+	public int getDisabledChoices()
+		{ return disabledChoices; }
+
+	@Override
+	public Move play(Board board) {
+		board.getChessAI().setRandom(random);
+		board.getChessAI().setDisabledChoices(disabledChoices);
+		board.getChessAI().doCpuSelectAPiece();
+		Position sourcePos = new Position(board.getSelectedPiece().getPosition());
+		Position targetPos = new Position(board.getChessAI().cpuSelectedTargetPosition());
+		try {
+			board.getChessAI().doCpuMoveSelectedPiece(true);
+			if (board.pawnWasPromoted()) {
+				board.promotePawnTo(PieceType.QUEEN);
+				return new Move(sourcePos, targetPos, PieceType.QUEEN);
+			}
+		}
+		catch (PromotionException | PieceSelectionException | PieceMoveException e)
+			{ throw new GameException(e.getMessage()); }
+		return new Move(sourcePos, targetPos);
+	}
+
+}
\ No newline at end of file
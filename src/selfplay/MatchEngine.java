@@ -0,0 +1,28 @@
+package selfplay;
+
+import board.Board;
+import board.Move;
+
+/**
+ * Jogador usado nas partidas entre duas configurações da CPU (ver {@code SprtRunner}).
+ * Cada thread usa a sua própria instância, então as implementações não precisam ser thread-safe.
+ */
+public interface MatchEngine {
+
+	/**
+	 * Escolhe e executa no tabuleiro a jogada do turno atual (promovendo o peão, se for o caso), retornando a jogada feita
+	 */
+	Move play(Board board);
+
+	/**
+	 * Retorna o total de nós analisados na última jogada (0 se a implementação não conta nós)
+	 */
+	default long getLastNodes()
+		{ return 0; }
+
+	/**
+	 * Chamado antes de cada partida, para descartar o que foi aprendido na partida anterior
+	 */
+	default void newGame() {}
+
+}
\ No newline at end of file
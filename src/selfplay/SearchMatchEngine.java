@@ -0,0 +1,57 @@
+package selfplay;
+
+import board.Board;
+import board.Move;
+import exceptions.GameException;
+import exceptions.PromotionException;
+import search.AnalysisResult;
+import search.Searcher;
+
+/**
+ * Jogador que usa o {@code Searcher} com profundidade e/ou tempo limite fixos por jogada
+ */
+public class SearchMatchEngine implements MatchEngine {
+
+	private final Searcher searcher;
+	private final int depth;
+	private final long timeMillis;
+	private long lastNodes;
+
+	/**
+	 * Construtor que recebe o {@code Searcher} (já configurado), a profundidade máxima e o tempo limite por jogada (0 = sem limite)
+	 */
+	public SearchMatchEngine(Searcher searcher, int depth, long timeMillis) {
+		if (searcher == null)
+			throw new NullPointerException("\"searcher\" is null");
+		this.searcher = searcher;
+		this.depth = depth;
+		this.timeMillis = timeMillis;
+	}
+
+	public SearchMatchEngine(int depth, long timeMillis)
+		{ this(new Searcher(), depth, timeMillis); }
+
+	public Searcher getSearcher()
+		{ return searcher; }
+
+	@Override
+	public Move play(Board board) {
+		AnalysisResult result = searcher.analyse(board, depth, timeMillis, 1);
+		lastNodes = result.getNodes();
+		Move move = result.getBestLine().getMove();
+		try
+			{ board.playMove(move.getSourcePosition(), move.getTargetPosition(), move.getPromotionType()); }
+		catch (PromotionException e)
+			{ throw new GameException(e.getMessage()); }
+		return move;
+	}
+
+	@Override
+	public long getLastNodes()
+		{ return lastNodes; }
+
+	@Override
+	public void newGame()
+		{ searcher.getTranspositionTable().clear(); }
+
+}
\ No newline at end of file
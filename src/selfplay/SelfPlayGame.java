@@ -0,0 +1,68 @@
+package selfplay;
+
+import java.util.Collections;
+import java.util.List;
+
+import enums.PieceColor;
+
+/**
+ * Resultado de uma partida jogada pelo {@code SelfPlayRunner}
+ */
+public class SelfPlayGame {
+
+	private final int gameIndex;
+	private final int startPositionIndex;
+	private final SelfPlayOutcome outcome;
+	private final PieceColor winnerColor;
+	private final int turns;
+	private final List<String> moves;
+	private final String errorMessage;
+
+	SelfPlayGame(int gameIndex, int startPositionIndex, SelfPlayOutcome outcome, PieceColor winnerColor, int turns, List<String> moves, String errorMessage) {
+		this.gameIndex = gameIndex;
+		this.startPositionIndex = startPositionIndex;
+		this.outcome = outcome;
+		this.winnerColor = winnerColor;
+		this.turns = turns;
+		this.moves = Collections.unmodifiableList(moves);
+		this.errorMessage = errorMessage;
+	}
+
+	public int getGameIndex()
+		{ return gameIndex; }
+
+	/**
+	 * Retorna o índice da posição inicial usada nesta partida
+	 */
+	public int getStartPositionIndex()
+		{ return startPositionIndex; }
+
+	public SelfPlayOutcome getOutcome()
+		{ return outcome; }
+
+	/**
+	 * Retorna a cor vencedora, ou {@code null} se a partida não teve vencedor
+	 */
+	public PieceColor getWinnerColor()
+		{ return winnerColor; }
+
+	public int getTurns()
+		{ return turns; }
+
+	/**
+	 * Retorna as jogadas da partida no formato {@code e2e4} (com a letra da promoção no final, se houver)
+	 */
+	public List<String> getMoves()
+		{ return moves; }
+
+	/**
+	 * Retorna a mensagem do erro que interrompeu a partida (se houver)
+	 */
+	public String getErrorMessage()
+		{ return errorMessage; }
+
+	@Override
+	public String toString()
+		{ return "#" + gameIndex + " " + outcome + (winnerColor != null ? " (" + winnerColor + ")" : "") + " in " + turns + " turns: " + String.join(" ", moves); }
+
+}
\ No newline at end of file
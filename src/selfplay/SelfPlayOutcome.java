@@ -0,0 +1,30 @@
+package selfplay;
+
+import enums.GameStatus;
+import exceptions.GameException;
+
+public enum SelfPlayOutcome {
+	CHECKMATE,
+	KISS_OF_DEATH_MATE,
+	DRAW_BY_BARE_KINGS,
+	DRAW_BY_STALEMATE,
+	DRAW_BY_THREEFOLD_REPETITION,
+	DRAW_BY_FIFTY_MOVE_RULE,
+	DRAW_BY_INSUFFICIENT_MATING_MATERIAL,
+	DRAW_BY_LONE_KING_50_TURNS,
+	TURN_LIMIT,
+	ERROR;
+
+	public Boolean isDraw()
+		{ return name().startsWith("DRAW_") || this == TURN_LIMIT; }
+
+	/**
+	 * Retorna o resultado correspondente á situação final da partida
+	 */
+	public static SelfPlayOutcome fromGameStatus(GameStatus status) {
+		if (!status.isGameOver())
+			throw new GameException("The game is not over");
+		return valueOf(status.name());
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,77 @@
+package selfplay;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import enums.PieceColor;
+
+/**
+ * Resumo de uma execução do {@code SelfPlayRunner}
+ */
+public class SelfPlayReport {
+
+	private final List<SelfPlayGame> games;
+	private final long elapsedNanos;
+	private final Map<SelfPlayOutcome, Integer> outcomes;
+	private int whiteWins;
+	private int blackWins;
+	private long totalTurns;
+
+	SelfPlayReport(List<SelfPlayGame> games, long elapsedNanos) {
+		this.games = Collections.unmodifiableList(games);
+		this.elapsedNanos = elapsedNanos;
+		outcomes = new EnumMap<>(SelfPlayOutcome.class);
+		for (SelfPlayOutcome outcome : SelfPlayOutcome.values())
+			outcomes.put(outcome, 0);
+		for (SelfPlayGame game : games) {
+			outcomes.put(game.getOutcome(), outcomes.get(game.getOutcome()) + 1);
+			if (game.getWinnerColor() == PieceColor.WHITE)
+				whiteWins++;
+			else if (game.getWinnerColor() == PieceColor.BLACK)
+				blackWins++;
+			totalTurns += game.getTurns();
+		}
+	}
+
+	public List<SelfPlayGame> getGames()
+		{ return games; }
+
+	public int getTotalGames()
+		{ return games.size(); }
+
+	public long getElapsedNanos()
+		{ return elapsedNanos; }
+
+	public double getGamesPerSecond()
+		{ return elapsedNanos == 0 ? 0 : games.size() / (elapsedNanos / 1e9); }
+
+	public double getTurnsPerSecond()
+		{ return elapsedNanos == 0 ? 0 : totalTurns / (elapsedNanos / 1e9); }
+
+	/**
+	 * Retorna o total de partidas que terminaram com o resultado informado
+	 */
+	public int getTotalByOutcome(SelfPlayOutcome outcome)
+		{ return outcomes.get(outcome); }
+
+	public int getWhiteWins()
+		{ return whiteWins; }
+
+	public int getBlackWins()
+		{ return blackWins; }
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(String.format("%d games in %.2fs (%.2f games/s, %.1f turns/s)%n",
+			games.size(), elapsedNanos / 1e9, getGamesPerSecond(), getTurnsPerSecond()));
+		sb.append(String.format("WHITE wins: %d, BLACK wins: %d%n", whiteWins, blackWins));
+		for (SelfPlayOutcome outcome : SelfPlayOutcome.values())
+			if (outcomes.get(outcome) > 0)
+				sb.append(String.format("%s: %d (%.1f%%)%n", outcome, outcomes.get(outcome), 100.0 * outcomes.get(outcome) / games.size()));
+		return sb.toString();
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,154 @@
+package selfplay;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import board.Board;
+import enums.ChessPlayMode;
+import enums.PieceType;
+import exceptions.GameException;
+import gameutil.Position;
+import piece.Piece;
+
+/**
+ * Joga várias partidas CPU vs CPU em paralelo, sem interface, á partir de uma lista de posições iniciais.
+ * As jogadas não são salvas para o undo e não passam pela seleção de pedras do jogador.
+ */
+public class SelfPlayRunner {
+
+	private static final String[] STANDARD_START_POSITION = {
+		"rnbqkbnr", "pppppppp", "........", "........", "........", "........", "PPPPPPPP", "RNBQKBNR"
+	};
+
+	private final List<Character[][]> startPositions;
+	private int threads;
+	private int maxTurns;
+	private Long seed;
+
+	/**
+	 * Construtor que recebe as posições iniciais (no mesmo formato de {@code Board.setBoard()}).
+	 * As partidas usam as posições em sequência, voltando para a primeira ao chegar no final da lista.
+	 */
+	public SelfPlayRunner(List<Character[][]> startPositions) {
+		if (startPositions == null || startPositions.isEmpty())
+			throw new GameException("You must inform at least one start position");
+		this.startPositions = new ArrayList<>(startPositions);
+		threads = Runtime.getRuntime().availableProcessors();
+		maxTurns = 400;
+	}
+
+	/**
+	 * Construtor padrão, que usa apenas a posição inicial padrão
+	 */
+	public SelfPlayRunner()
+		{ this(Arrays.<Character[][]>asList(getStandardStartPosition())); }
+
+	/**
+	 * Retorna a posição inicial padrão de uma partida de xadrez
+	 */
+	public static Character[][] getStandardStartPosition() {
+		Character[][] pieces = new Character[8][8];
+		for (int y = 0; y < 8; y++)
+			for (int x = 0; x < 8; x++)
+				pieces[y][x] = STANDARD_START_POSITION[y].charAt(x);
+		return pieces;
+	}
+
+	public int getThreads()
+		{ return threads; }
+
+	/**
+	 * Define o total de partidas jogadas ao mesmo tempo (Padrão: total de núcleos disponíveis)
+	 */
+	public void setThreads(int threads) {
+		if (threads < 1)
+			throw new GameException("threads must be higher than 0");
+		this.threads = threads;
+	}
+
+	public int getMaxTurns()
+		{ return maxTurns; }
+
+	/**
+	 * Define o total máximo de turnos de cada partida. Ao atingir esse limite, a partida é encerrada como {@code TURN_LIMIT}
+	 */
+	public void setMaxTurns(int maxTurns) {
+		if (maxTurns < 1)
+			throw new GameException("maxTurns must be higher than 0");
+		this.maxTurns = maxTurns;
+	}
+
+	public Long getSeed()
+		{ return seed; }
+
+	/**
+	 * Define a semente das escolhas aleatórias da CPU. Cada partida recebe a sua própria sequência,
+	 * derivada da semente pela ordem das partidas, então o resultado não depende do total de threads.
+	 * Se for {@code null} (Padrão), é usada uma semente aleatória.
+	 */
+	public void setSeed(Long seed)
+		{ this.seed = seed; }
+
+	/**
+	 * Joga o total de partidas informado e retorna o resumo dos resultados
+	 */
+	public SelfPlayReport run(int totalGames) throws InterruptedException {
+		if (totalGames < 1)
+			throw new GameException("totalGames must be higher than 0");
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, totalGames));
+		List<Future<SelfPlayGame>> futures = new ArrayList<>();
+		SplittableRandom seeds = seed == null ? new SplittableRandom() : new SplittableRandom(seed);
+		long startTime = System.nanoTime();
+		try {
+			for (int n = 0; n < totalGames; n++) {
+				final int gameIndex = n;
+				final SplittableRandom random = seeds.split();
+				futures.add(executor.submit(() -> playGame(gameIndex, gameIndex % startPositions.size(), random)));
+			}
+			List<SelfPlayGame> games = new ArrayList<>();
+			for (Future<SelfPlayGame> future : futures)
+				games.add(future.get());
+			return new SelfPlayReport(games, System.nanoTime() - startTime);
+		}
+		catch (ExecutionException e)
+			{ throw new GameException("Self-play failed: " + e.getCause()); }
+		finally
+			{ executor.shutdownNow(); }
+	}
+
+	private SelfPlayGame playGame(int gameIndex, int startPositionIndex, SplittableRandom random) {
+		List<String> moves = new ArrayList<>();
+		Board board = new Board();
+		try {
+			board.setBoard(startPositions.get(startPositionIndex));
+			board.setPlayMode(ChessPlayMode.CPU_VS_CPU);
+			board.validateBoard();
+			board.getChessAI().setRandom(random);
+			while (!board.isGameOver()) {
+				if (board.getTurns() >= maxTurns)
+					return new SelfPlayGame(gameIndex, startPositionIndex, SelfPlayOutcome.TURN_LIMIT, null, board.getTurns(), moves, null);
+				board.getChessAI().doCpuSelectAPiece();
+				Piece piece = board.getSelectedPiece();
+				Position sourcePos = new Position(piece.getPosition());
+				Position targetPos = new Position(board.getChessAI().cpuSelectedTargetPosition());
+				board.getChessAI().doCpuMoveSelectedPiece(true);
+				String move = Board.positionToString(sourcePos) + Board.positionToString(targetPos);
+				if (board.pawnWasPromoted()) {
+					board.promotePawnTo(PieceType.QUEEN);
+					move += Character.toLowerCase(PieceType.QUEEN.getLet());
+				}
+				moves.add(move);
+			}
+			return new SelfPlayGame(gameIndex, startPositionIndex, SelfPlayOutcome.fromGameStatus(board.getGameStatus()), board.getWinnerColor(), board.getTurns(), moves, null);
+		}
+		catch (Exception e)
+			{ return new SelfPlayGame(gameIndex, startPositionIndex, SelfPlayOutcome.ERROR, null, board.getTurns(), moves, e.toString()); }
+	}
+
+}
\ No newline at end of file
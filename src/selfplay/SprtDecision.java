@@ -0,0 +1,10 @@
+package selfplay;
+
+public enum SprtDecision {
+	/** O candidato é melhor que o limite inferior de Elo (hipótese H1 aceita) */
+	CANDIDATE_IS_BETTER,
+	/** O candidato não alcança o limite superior de Elo (hipótese H0 aceita) */
+	CANDIDATE_IS_NOT_BETTER,
+	/** O total máximo de partidas foi atingido antes de uma conclusão */
+	INCONCLUSIVE;
+}
\ No newline at end of file
@@ -0,0 +1,138 @@
+package selfplay;
+
+/**
+ * Resultado de um {@code SprtRunner}, sempre do ponto de vista do candidato
+ */
+public class SprtReport {
+
+	private final int wins;
+	private final int draws;
+	private final int losses;
+	private final int[] pairResults;
+	private final double llr;
+	private final double lowerBound;
+	private final double upperBound;
+	private final SprtDecision decision;
+	private final EngineStats baselineStats;
+	private final EngineStats candidateStats;
+	private final long elapsedNanos;
+
+	SprtReport(int wins, int draws, int losses, int[] pairResults, double llr, double lowerBound, double upperBound, SprtDecision decision,
+			EngineStats baselineStats, EngineStats candidateStats, long elapsedNanos) {
+				this.wins = wins;
+				this.draws = draws;
+				this.losses = losses;
+				this.pairResults = pairResults.clone();
+				this.llr = llr;
+				this.lowerBound = lowerBound;
+				this.upperBound = upperBound;
+				this.decision = decision;
+				this.baselineStats = baselineStats;
+				this.candidateStats = candidateStats;
+				this.elapsedNanos = elapsedNanos;
+	}
+
+	public int getWins()
+		{ return wins; }
+
+	public int getDraws()
+		{ return draws; }
+
+	public int getLosses()
+		{ return losses; }
+
+	public int getTotalGames()
+		{ return wins + draws + losses; }
+
+	/**
+	 * Retorna o total de pares de partidas concluídos para cada pontuação do candidato no par
+	 * (índice {@code n} = {@code n / 2} pontos, de 0 a 2)
+	 */
+	public int[] getPairResults()
+		{ return pairResults.clone(); }
+
+	public int getTotalPairs() {
+		int total = 0;
+		for (int count : pairResults)
+			total += count;
+		return total;
+	}
+
+	/**
+	 * Retorna a pontuação média do candidato (vitória = 1, empate = 0.5)
+	 */
+	public double getScore()
+		{ return getTotalGames() == 0 ? 0.5 : (wins + draws / 2.0) / getTotalGames(); }
+
+	/**
+	 * Retorna a diferença de Elo estimada do candidato em relação ao baseline
+	 */
+	public double getElo()
+		{ return scoreToElo(getScore()); }
+
+	/**
+	 * Retorna a margem de erro (95%) da diferença de Elo, calculada pela variância dos pares de partidas
+	 */
+	public double getEloError() {
+		int total = getTotalPairs();
+		if (total == 0)
+			return Double.POSITIVE_INFINITY;
+		double score = getScore();
+		double variance = 0;
+		for (int n = 0; n < pairResults.length; n++)
+			variance += pairResults[n] * Math.pow(n / 4.0 - score, 2);
+		variance /= total;
+		if (variance == 0)
+			return Double.POSITIVE_INFINITY;
+		double margin = 1.96 * Math.sqrt(variance / total);
+		return (scoreToElo(Math.min(score + margin, 1)) - scoreToElo(Math.max(score - margin, 0))) / 2;
+	}
+
+	/**
+	 * Retorna o log-likelihood ratio atual do teste
+	 */
+	public double getLlr()
+		{ return llr; }
+
+	public double getLowerBound()
+		{ return lowerBound; }
+
+	public double getUpperBound()
+		{ return upperBound; }
+
+	public SprtDecision getDecision()
+		{ return decision; }
+
+	public EngineStats getBaselineStats()
+		{ return baselineStats; }
+
+	public EngineStats getCandidateStats()
+		{ return candidateStats; }
+
+	public long getElapsedNanos()
+		{ return elapsedNanos; }
+
+	static double scoreToElo(double score) {
+		if (score <= 0)
+			return Double.NEGATIVE_INFINITY;
+		if (score >= 1)
+			return Double.POSITIVE_INFINITY;
+		return -400 * Math.log10(1 / score - 1);
+	}
+
+	static double eloToScore(double elo)
+		{ return 1 / (1 + Math.pow(10, -elo / 400)); }
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(String.format("%d games in %.2fs: +%d =%d -%d%n", getTotalGames(), elapsedNanos / 1e9, wins, draws, losses));
+		sb.append(String.format("Pairs (0, 0.5, 1, 1.5, 2): %d %d %d %d %d%n", pairResults[0], pairResults[1], pairResults[2], pairResults[3], pairResults[4]));
+		sb.append(String.format("Elo: %.1f +/- %.1f%n", getElo(), getEloError()));
+		sb.append(String.format("LLR: %.2f (%.2f, %.2f) - %s%n", llr, lowerBound, upperBound, decision));
+		sb.append("Baseline: ").append(baselineStats).append(String.format("%n"));
+		sb.append("Candidate: ").append(candidateStats).append(String.format("%n"));
+		return sb.toString();
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,261 @@
+package selfplay;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import board.Board;
+import enums.ChessPlayMode;
+import enums.PieceColor;
+import exceptions.GameException;
+import exceptions.PromotionException;
+
+/**
+ * Joga partidas entre duas configurações da CPU (baseline e candidato) em paralelo, sobre uma lista de aberturas,
+ * com cada abertura jogada duas vezes (trocando as cores), formando um par de partidas. Após cada par concluído
+ * é aplicado o SPRT (Sequential Probability Ratio Test) pentanomial com os limites de Elo informados, e as partidas
+ * param assim que o teste conclui. Como os resultados chegam na ordem em que as partidas terminam, só entram no teste
+ * os pares com as duas partidas concluídas, para que as partidas mais curtas não distorçam o resultado.
+ */
+public class SprtRunner {
+
+	private static final String[] DEFAULT_OPENINGS = {
+		"e2e4 e7e5 g1f3 b8c6", "e2e4 c7c5 g1f3 d7d6", "e2e4 e7e6 d2d4 d7d5", "e2e4 c7c6 d2d4 d7d5",
+		"d2d4 d7d5 c2c4 e7e6", "d2d4 g8f6 c2c4 g7g6", "c2c4 e7e5 b1c3 g8f6", "g1f3 d7d5 g2g3 g8f6"
+	};
+
+	private final Supplier<MatchEngine> baselineFactory;
+	private final Supplier<MatchEngine> candidateFactory;
+	private final List<String> openingFens;
+	private int threads;
+	private int maxGames;
+	private int maxTurns;
+	private double elo0;
+	private double elo1;
+	private double alpha;
+	private double beta;
+	private volatile Boolean stopped;
+
+	/**
+	 * Pontuação do candidato em uma partida, junto com o índice do par a que a partida pertence
+	 */
+	private static class GameResult {
+
+		private final int pair;
+		private final Double score;
+
+		GameResult(int pair, Double score) {
+			this.pair = pair;
+			this.score = score;
+		}
+
+	}
+
+	/**
+	 * Construtor que recebe as fábricas dos jogadores (cada thread cria os seus) e as aberturas no formato FEN
+	 */
+	public SprtRunner(Supplier<MatchEngine> baselineFactory, Supplier<MatchEngine> candidateFactory, List<String> openingFens) {
+		if (baselineFactory == null || candidateFactory == null)
+			throw new NullPointerException("\"" + (baselineFactory == null ? "baselineFactory" : "candidateFactory") + "\" is null");
+		if (openingFens == null || openingFens.isEmpty())
+			throw new GameException("You must inform at least one opening");
+		this.baselineFactory = baselineFactory;
+		this.candidateFactory = candidateFactory;
+		this.openingFens = new ArrayList<>(openingFens);
+		threads = Runtime.getRuntime().availableProcessors();
+		maxGames = 1000;
+		maxTurns = 300;
+		elo0 = 0;
+		elo1 = 10;
+		alpha = 0.05;
+		beta = 0.05;
+	}
+
+	/**
+	 * Construtor que usa uma pequena lista padrão de aberturas
+	 */
+	public SprtRunner(Supplier<MatchEngine> baselineFactory, Supplier<MatchEngine> candidateFactory)
+		{ this(baselineFactory, candidateFactory, getDefaultOpenings()); }
+
+	/**
+	 * Retorna as aberturas padrão (as 4 primeiras jogadas de algumas aberturas comuns) no formato FEN
+	 */
+	public static List<String> getDefaultOpenings() {
+		List<String> fens = new ArrayList<>();
+		for (String opening : DEFAULT_OPENINGS) {
+			Board board = Board.fromFen(Board.INITIAL_FEN);
+			for (String move : opening.split(" "))
+				try
+					{ board.playMove(Board.stringToPosition(move.substring(0, 2)), Board.stringToPosition(move.substring(2, 4)), null); }
+				catch (PromotionException e)
+					{ throw new GameException(e.getMessage()); }
+			fens.add(board.toFen());
+		}
+		return fens;
+	}
+
+	public int getThreads()
+		{ return threads; }
+
+	/**
+	 * Define o total de partidas jogadas ao mesmo tempo (Padrão: total de núcleos disponíveis)
+	 */
+	public void setThreads(int threads) {
+		if (threads < 1)
+			throw new GameException("threads must be higher than 0");
+		this.threads = threads;
+	}
+
+	public int getMaxGames()
+		{ return maxGames; }
+
+	/**
+	 * Define o total máximo de partidas, arredondado para baixo para um número par (as partidas são jogadas em pares).
+	 * Se o teste não concluir até lá, o resultado é {@code INCONCLUSIVE} (Padrão: 1000)
+	 */
+	public void setMaxGames(int maxGames) {
+		if (maxGames < 2)
+			throw new GameException("maxGames must be higher than 1");
+		this.maxGames = maxGames;
+	}
+
+	public int getMaxTurns()
+		{ return maxTurns; }
+
+	/**
+	 * Define o total máximo de turnos de cada partida. Ao atingir esse limite, a partida é considerada empate (Padrão: 300)
+	 */
+	public void setMaxTurns(int maxTurns) {
+		if (maxTurns < 1)
+			throw new GameException("maxTurns must be higher than 0");
+		this.maxTurns = maxTurns;
+	}
+
+	/**
+	 * Define os limites de Elo das hipóteses H0 (candidato não é melhor que {@code elo0}) e H1 (candidato é ao menos {@code elo1} melhor)
+	 */
+	public void setEloBounds(double elo0, double elo1) {
+		if (elo1 <= elo0)
+			throw new GameException("elo1 must be higher than elo0");
+		this.elo0 = elo0;
+		this.elo1 = elo1;
+	}
+
+	/**
+	 * Define as probabilidades aceitas de falso positivo ({@code alpha}) e de falso negativo ({@code beta}) (Padrão: 0.05)
+	 */
+	public void setErrorRates(double alpha, double beta) {
+		if (alpha <= 0 || alpha >= 0.5 || beta <= 0 || beta >= 0.5)
+			throw new GameException("alpha and beta must be between 0 and 0.5");
+		this.alpha = alpha;
+		this.beta = beta;
+	}
+
+	/**
+	 * Joga as partidas até o SPRT concluir ou até o total máximo de partidas, e retorna o resultado
+	 */
+	public SprtReport run() throws InterruptedException {
+		double lowerBound = Math.log(beta / (1 - alpha)), upperBound = Math.log((1 - beta) / alpha);
+		EngineStats baselineStats = new EngineStats(), candidateStats = new EngineStats();
+		ThreadLocal<MatchEngine> baselines = ThreadLocal.withInitial(baselineFactory);
+		ThreadLocal<MatchEngine> candidates = ThreadLocal.withInitial(candidateFactory);
+		int totalPairs = maxGames / 2, totalGames = totalPairs * 2;
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, totalGames));
+		CompletionService<GameResult> completion = new ExecutorCompletionService<>(executor);
+		stopped = false;
+		long startTime = System.nanoTime();
+		Double[] firstScores = new Double[totalPairs];
+		int[] results = new int[3];
+		int[] pairResults = new int[5];
+		double llr = 0;
+		SprtDecision decision = SprtDecision.INCONCLUSIVE;
+		try {
+			for (int n = 0; n < totalGames; n++) {
+				final int pair = n / 2;
+				final String fen = openingFens.get(pair % openingFens.size());
+				final Boolean candidateIsWhite = n % 2 == 0;
+				completion.submit(() -> new GameResult(pair, playGame(fen, candidateIsWhite, baselines.get(), candidates.get(), baselineStats, candidateStats)));
+			}
+			for (int n = 0; n < totalGames; n++) {
+				GameResult result = completion.take().get();
+				if (result.score == null)
+					continue;
+				if (firstScores[result.pair] == null) {
+					firstScores[result.pair] = result.score;
+					continue;
+				}
+				for (double score : new double[] { firstScores[result.pair], result.score })
+					results[score == 1 ? 0 : score == 0.5 ? 1 : 2]++;
+				pairResults[(int) Math.round((firstScores[result.pair] + result.score) * 2)]++;
+				llr = computeLlr(pairResults, elo0, elo1);
+				if (llr >= upperBound || llr <= lowerBound) {
+					decision = llr >= upperBound ? SprtDecision.CANDIDATE_IS_BETTER : SprtDecision.CANDIDATE_IS_NOT_BETTER;
+					break;
+				}
+			}
+		}
+		catch (ExecutionException e)
+			{ throw new GameException("SPRT game failed: " + e.getCause()); }
+		finally {
+			stopped = true;
+			executor.shutdownNow();
+		}
+		return new SprtReport(results[0], results[1], results[2], pairResults, llr, lowerBound, upperBound, decision,
+			baselineStats, candidateStats, System.nanoTime() - startTime);
+	}
+
+	/**
+	 * Joga uma partida e retorna a pontuação do candidato, ou {@code null} se a partida foi interrompida
+	 */
+	private Double playGame(String fen, Boolean candidateIsWhite, MatchEngine baseline, MatchEngine candidate,
+			EngineStats baselineStats, EngineStats candidateStats) {
+				if (stopped)
+					return null;
+				Board board = Board.fromFen(fen);
+				board.setPlayMode(ChessPlayMode.CPU_VS_CPU);
+				baseline.newGame();
+				candidate.newGame();
+				PieceColor candidateColor = candidateIsWhite ? PieceColor.WHITE : PieceColor.BLACK;
+				while (!board.isGameOver() && board.getTurns() < maxTurns) {
+					if (stopped)
+						return null;
+					Boolean candidateTurn = board.getCurrentColorTurn() == candidateColor;
+					MatchEngine engine = candidateTurn ? candidate : baseline;
+					long startTime = System.nanoTime();
+					engine.play(board);
+					(candidateTurn ? candidateStats : baselineStats).add(engine.getLastNodes(), System.nanoTime() - startTime);
+				}
+				if (!board.isGameOver() || board.getWinnerColor() == null)
+					return 0.5;
+				return board.getWinnerColor() == candidateColor ? 1.0 : 0.0;
+	}
+
+	/**
+	 * Calcula o log-likelihood ratio pela aproximação normal do GSPRT sobre os resultados dos pares de partidas
+	 * ({@code pairResults[n]} é o total de pares em que o candidato fez {@code n / 2} pontos, de 0 a 2)
+	 */
+	static double computeLlr(int[] pairResults, double elo0, double elo1) {
+		int total = 0;
+		double sum = 0;
+		for (int n = 0; n < pairResults.length; n++) {
+			total += pairResults[n];
+			sum += pairResults[n] * n / 4.0;
+		}
+		if (total == 0)
+			return 0;
+		double score = sum / total;
+		// Meio par perdido e meio par vencido extras na variância evitam variância zero quando todos os pares têm o mesmo resultado
+		double variance = 0.5 * score * score + 0.5 * Math.pow(1 - score, 2);
+		for (int n = 0; n < pairResults.length; n++)
+			variance += pairResults[n] * Math.pow(n / 4.0 - score, 2);
+		variance /= total + 1;
+		double score0 = SprtReport.eloToScore(elo0), score1 = SprtReport.eloToScore(elo1);
+		return total * (score1 - score0) * (2 * score - score0 - score1) / (2 * variance);
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,13 @@
+package session;
+
+import board.Board;
+
+/**
+ * Comando executado sobre o tabuleiro de uma partida, dentro da fila dela
+ */
+@FunctionalInterface
+public interface GameCommand<T> {
+
+	T execute(Board board) throws Exception;
+
+}
\ No newline at end of file
@@ -0,0 +1,149 @@
+package session;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import board.Board;
+import enums.PieceType;
+import exceptions.GameException;
+
+public class GameSession {
+
+	private final String id;
+	private final Board board;
+	private final Executor mailboxExecutor;
+	private final Executor cpuExecutor;
+	private final Queue<Command> mailbox;
+	private final AtomicBoolean scheduled;
+	private volatile Boolean closed;
+
+	/**
+	 * Construtor que recebe o ID da partida, o tabuleiro e os executores usados
+	 * para processar os comandos e as jogadas da CPU
+	 */
+	GameSession(String id, Board board, Executor mailboxExecutor, Executor cpuExecutor) {
+		this.id = id;
+		this.board = board;
+		this.mailboxExecutor = mailboxExecutor;
+		this.cpuExecutor = cpuExecutor;
+		mailbox = new ConcurrentLinkedQueue<>();
+		scheduled = new AtomicBoolean(false);
+		closed = false;
+	}
+
+	/**
+	 * Retorna o ID da partida
+	 */
+	public String getId()
+		{ return id; }
+
+	/**
+	 * Verifica se a partida foi encerrada no gerenciador
+	 */
+	public Boolean isClosed()
+		{ return closed; }
+
+	/**
+	 * Enfileira um comando para ser executado sobre o tabuleiro desta partida.
+	 * Os comandos de uma mesma partida são sempre executados um de cada vez, na ordem de chegada.
+	 */
+	public <T> CompletableFuture<T> submit(GameCommand<T> command) {
+		CompletableFuture<T> future = new CompletableFuture<>();
+		enqueue(new Command(b -> future.complete(command.execute(b)), future, false));
+		return future;
+	}
+
+	/**
+	 * Enfileira uma jogada da CPU. A busca é executada no pool de threads da CPU,
+	 * e nenhum outro comando desta partida é executado até que ela termine.
+	 * Se a jogada resultar em promoção, o peão é promovido para rainha.
+	 */
+	public CompletableFuture<Void> cpuMove() {
+		CompletableFuture<Void> future = new CompletableFuture<>();
+		enqueue(new Command(b -> {
+			b.getChessAI().doCpuSelectAPiece();
+			b.getChessAI().doCpuMoveSelectedPiece();
+			if (b.pawnWasPromoted())
+				b.promotePawnTo(PieceType.QUEEN);
+			return future.complete(null);
+		}, future, true));
+		return future;
+	}
+
+	/**
+	 * Encerra a partida, cancelando os comandos pendentes. A verificação do {@code enqueue()} e o cancelamento
+	 * são feitos com o mesmo lock, então nenhum comando é enfileirado depois do cancelamento e esquecido na fila.
+	 */
+	void close() {
+		synchronized (mailbox) {
+			closed = true;
+			Command command;
+			while ((command = mailbox.poll()) != null)
+				command.future.completeExceptionally(new GameException("The game \"" + id + "\" was closed"));
+		}
+	}
+
+	private void enqueue(Command command) {
+		synchronized (mailbox) {
+			if (closed)
+				throw new GameException("The game \"" + id + "\" was closed");
+			mailbox.add(command);
+		}
+		schedule();
+	}
+
+	private void schedule() {
+		if (!mailbox.isEmpty() && scheduled.compareAndSet(false, true))
+			mailboxExecutor.execute(this::drain);
+	}
+
+	/**
+	 * Executa os comandos pendentes. Ao encontrar uma jogada da CPU, repassa ela para o pool
+	 * da CPU e só volta a consumir a fila quando ela terminar, sem manter uma thread presa esperando.
+	 */
+	private void drain() {
+		Command command;
+		while ((command = mailbox.poll()) != null) {
+			if (command.cpuBound) {
+				final Command cpuCommand = command;
+				cpuExecutor.execute(() -> {
+					run(cpuCommand);
+					resume();
+				});
+				return;
+			}
+			run(command);
+		}
+		resume();
+	}
+
+	private void resume() {
+		scheduled.set(false);
+		schedule();
+	}
+
+	private void run(Command command) {
+		try
+			{ command.action.execute(board); }
+		catch (Throwable e)
+			{ command.future.completeExceptionally(e); }
+	}
+
+	private static class Command {
+
+		private final GameCommand<?> action;
+		private final CompletableFuture<?> future;
+		private final Boolean cpuBound;
+
+		Command(GameCommand<?> action, CompletableFuture<?> future, Boolean cpuBound) {
+			this.action = action;
+			this.future = future;
+			this.cpuBound = cpuBound;
+		}
+
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,149 @@
+package session;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import board.Board;
+import exceptions.GameException;
+
+/**
+ * Gerencia várias partidas simultâneas, identificadas por ID.
+ * Cada partida tem sua própria fila de comandos (mailbox), que é consumida sob demanda
+ * por threads virtuais (ou por um pool work-stealing em JVMs sem threads virtuais),
+ * então nenhuma partida ocupa uma thread enquanto está parada. As jogadas da CPU são
+ * executadas em um pool limitado de threads de plataforma.
+ */
+public class GameSessionManager implements AutoCloseable {
+
+	private final Map<String, GameSession> sessions;
+	private final ExecutorService mailboxExecutor;
+	private final ExecutorService cpuExecutor;
+	private final AtomicLong nextId;
+
+	/**
+	 * Construtor padrão, que usa uma thread da CPU para cada núcleo disponível
+	 */
+	public GameSessionManager()
+		{ this(Runtime.getRuntime().availableProcessors()); }
+
+	/**
+	 * Construtor que recebe o total de threads usadas para as jogadas da CPU
+	 */
+	public GameSessionManager(int cpuThreads) {
+		if (cpuThreads < 1)
+			throw new GameException("cpuThreads must be higher than 0");
+		sessions = new ConcurrentHashMap<>();
+		mailboxExecutor = newMailboxExecutor();
+		AtomicInteger threadCount = new AtomicInteger();
+		cpuExecutor = Executors.newFixedThreadPool(cpuThreads, r -> {
+			Thread thread = new Thread(r, "chess-cpu-" + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		nextId = new AtomicLong();
+	}
+
+	/**
+	 * Usa threads virtuais quando a JVM oferece suporte (Java 21+). O projeto ainda compila
+	 * para Java 17, por isso a busca é feita por reflexão. Cada execução da fila usa uma thread virtual
+	 * nova, então os tabuleiros do {@code BoardPool} (um pool por thread) não são reaproveitados entre os
+	 * comandos comuns. As jogadas da CPU, que testam muitas jogadas, rodam nas threads de plataforma do
+	 * pool da CPU, onde o {@code BoardPool} é reaproveitado.
+	 */
+	private static ExecutorService newMailboxExecutor() {
+		try {
+			Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			return (ExecutorService) method.invoke(null);
+		}
+		catch (ReflectiveOperationException e)
+			{ return new ForkJoinPool(Runtime.getRuntime().availableProcessors(), ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true); }
+	}
+
+	/**
+	 * Registra uma nova partida com o ID informado
+	 */
+	public GameSession createGame(String id, Board board) {
+		if (id == null)
+			throw new NullPointerException("\"id\" is null");
+		if (board == null)
+			throw new NullPointerException("\"board\" is null");
+		GameSession session = new GameSession(id, board, mailboxExecutor, cpuExecutor);
+		if (sessions.putIfAbsent(id, session) != null)
+			throw new GameException("There's already a game with the id \"" + id + "\"");
+		return session;
+	}
+
+	/**
+	 * Registra uma nova partida, gerando um ID para ela
+	 */
+	public GameSession createGame(Board board) {
+		String id;
+		do
+			id = "game-" + nextId.incrementAndGet();
+		while (sessions.containsKey(id));
+		return createGame(id, board);
+	}
+
+	/**
+	 * Retorna a partida com o ID informado
+	 */
+	public GameSession getGame(String id) {
+		GameSession session = sessions.get(id);
+		if (session == null)
+			throw new GameException("There's no game with the id \"" + id + "\"");
+		return session;
+	}
+
+	/**
+	 * Verifica se existe uma partida com o ID informado
+	 */
+	public Boolean hasGame(String id)
+		{ return sessions.containsKey(id); }
+
+	/**
+	 * Remove a partida com o ID informado. Os comandos ainda pendentes dela são cancelados.
+	 */
+	public void removeGame(String id) {
+		GameSession session = sessions.remove(id);
+		if (session == null)
+			throw new GameException("There's no game with the id \"" + id + "\"");
+		session.close();
+	}
+
+	/**
+	 * Retorna o total de partidas registradas
+	 */
+	public int getTotalGames()
+		{ return sessions.size(); }
+
+	/**
+	 * Enfileira um comando na partida com o ID informado
+	 */
+	public <T> CompletableFuture<T> submit(String id, GameCommand<T> command)
+		{ return getGame(id).submit(command); }
+
+	/**
+	 * Enfileira uma jogada da CPU na partida com o ID informado
+	 */
+	public CompletableFuture<Void> cpuMove(String id)
+		{ return getGame(id).cpuMove(); }
+
+	@Override
+	public void close() {
+		for (String id : sessions.keySet()) {
+			GameSession session = sessions.remove(id);
+			if (session != null)
+				session.close();
+		}
+		cpuExecutor.shutdown();
+		mailboxExecutor.shutdown();
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,361 @@
+package uci;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import board.Board;
+import board.Move;
+import enums.PieceColor;
+import enums.PieceType;
+import exceptions.GameException;
+import exceptions.PromotionException;
+import search.AnalysisLine;
+import search.AnalysisResult;
+import search.Searcher;
+
+/**
+ * Interface UCI (Universal Chess Interface) para usar o {@code Searcher} em ferramentas como cutechess-cli e fastchess.
+ * Os comandos são lidos (com buffer) na thread que chamou {@code run()}, e cada {@code go} é executado em uma thread
+ * separada, então {@code stop}, {@code ponderhit} e {@code isready} são respondidos durante a busca.
+ * As linhas enviadas entram em uma fila escrita por uma thread própria, então a busca nunca espera pela saída.
+ */
+public class UciEngine {
+
+	private static final String NAME = "Chess";
+	private static final int DEFAULT_HASH_MB = 16;
+	private static final int MAX_HASH_MB = 1024;
+	private static final int ENTRY_BYTES = 16;
+	private static final int MAX_DEPTH = Searcher.MAX_PLY - 1;
+	// Marca o fim da fila de saída (comparada pela referência)
+	private static final String END_OF_OUTPUT = new String();
+
+	private final BufferedReader input;
+	private final Writer output;
+	private final BlockingQueue<String> outputQueue;
+	private Thread outputThread;
+	private volatile Boolean outputFailed;
+	private Searcher searcher;
+	private Board board;
+	private int multiPv;
+	private Thread searchThread;
+	private volatile Boolean stopRequested;
+	private volatile Boolean pondering;
+	private volatile long ponderTimeMillis;
+
+	public UciEngine(InputStream input, OutputStream output) {
+		this.input = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+		this.output = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+		outputQueue = new LinkedBlockingQueue<>();
+		outputFailed = false;
+		searcher = new Searcher(getTableBits(DEFAULT_HASH_MB));
+		board = Board.fromFen(Board.INITIAL_FEN);
+		multiPv = 1;
+		stopRequested = false;
+		pondering = false;
+	}
+
+	public static void main(String[] args) throws IOException
+		{ new UciEngine(System.in, System.out).run(); }
+
+	/**
+	 * Lê e executa os comandos até receber {@code quit} ou até o fim da entrada
+	 */
+	public void run() throws IOException {
+		outputThread = new Thread(this::writeOutput, "uci-output");
+		outputThread.setDaemon(true);
+		outputThread.start();
+		try {
+			String line;
+			while ((line = input.readLine()) != null) {
+				line = line.trim();
+				if (line.isEmpty())
+					continue;
+				if (line.equals("quit"))
+					break;
+				try
+					{ execute(line); }
+				catch (RuntimeException e)
+					{ send("info string error " + e.getMessage()); }
+			}
+		}
+		finally {
+			stopSearch();
+			finishOutput();
+		}
+	}
+
+	private void execute(String line) {
+		String[] tokens = line.split("\\s+");
+		switch (tokens[0]) {
+			case "uci":
+				send("id name " + NAME);
+				send("id author " + NAME + " authors");
+				send("option name Hash type spin default " + DEFAULT_HASH_MB + " min 1 max " + MAX_HASH_MB);
+				send("option name MultiPV type spin default 1 min 1 max 64");
+				send("option name Ponder type check default false");
+				send("uciok");
+				break;
+			case "isready":
+				send("readyok");
+				break;
+			case "ucinewgame":
+				stopSearch();
+				searcher.getTranspositionTable().clear();
+				break;
+			case "setoption":
+				stopSearch();
+				setOption(tokens);
+				break;
+			case "position":
+				stopSearch();
+				setPosition(tokens);
+				break;
+			case "go":
+				stopSearch();
+				go(tokens);
+				break;
+			case "stop":
+				stopSearch();
+				break;
+			case "ponderhit":
+				ponderHit();
+				break;
+			default:
+				send("info string unknown command " + tokens[0]);
+		}
+	}
+
+	private void setOption(String[] tokens) {
+		String name = null, value = null;
+		for (int n = 1; n < tokens.length - 1; n++)
+			if (tokens[n].equals("name"))
+				name = tokens[n + 1];
+			else if (tokens[n].equals("value"))
+				value = tokens[n + 1];
+		if (name == null || value == null)
+			return;
+		if (name.equalsIgnoreCase("Hash"))
+			searcher = new Searcher(getTableBits(Math.max(1, Math.min(MAX_HASH_MB, Integer.parseInt(value)))));
+		else if (name.equalsIgnoreCase("MultiPV"))
+			multiPv = Math.max(1, Integer.parseInt(value));
+	}
+
+	/**
+	 * Retorna o total de bits da maior tabela de transposição que cabe no total de megabytes informado
+	 */
+	private static int getTableBits(int megabytes) {
+		long entries = (long)megabytes * 1024 * 1024 / ENTRY_BYTES;
+		return Math.max(1, 63 - Long.numberOfLeadingZeros(entries));
+	}
+
+	private void setPosition(String[] tokens) {
+		int n = 1;
+		Board newBoard;
+		if (tokens.length > 1 && tokens[1].equals("startpos")) {
+			newBoard = Board.fromFen(Board.INITIAL_FEN);
+			n = 2;
+		}
+		else if (tokens.length > 1 && tokens[1].equals("fen")) {
+			StringBuilder fen = new StringBuilder();
+			for (n = 2; n < tokens.length && !tokens[n].equals("moves"); n++)
+				fen.append(fen.length() == 0 ? "" : " ").append(tokens[n]);
+			newBoard = Board.fromFen(fen.toString());
+		}
+		else
+			throw new GameException("Invalid position command");
+		if (n < tokens.length && tokens[n].equals("moves"))
+			for (n++; n < tokens.length; n++)
+				playUciMove(newBoard, tokens[n]);
+		board = newBoard;
+	}
+
+	private static void playUciMove(Board board, String move) {
+		if (move.length() != 4 && move.length() != 5)
+			throw new GameException(move + " - Invalid move");
+		PieceType promotionType = move.length() == 5 ? PieceType.getTypeFromLet(move.charAt(4)) : null;
+		try
+			{ board.playMove(Board.stringToPosition(move.substring(0, 2)), Board.stringToPosition(move.substring(2, 4)), promotionType); }
+		catch (PromotionException e)
+			{ throw new GameException(move + " - " + e.getMessage()); }
+	}
+
+	private void go(String[] tokens) {
+		int depth = MAX_DEPTH;
+		long nodes = 0, moveTime = 0, time = 0, increment = 0;
+		int movesToGo = 0;
+		Boolean infinite = false, ponder = false;
+		Boolean white = board.getCurrentColorTurn() == PieceColor.WHITE;
+		for (int n = 1; n < tokens.length; n++) {
+			String value = n + 1 < tokens.length ? tokens[n + 1] : "0";
+			switch (tokens[n]) {
+				case "depth": depth = Math.max(1, Math.min(MAX_DEPTH, Integer.parseInt(value))); n++; break;
+				case "nodes": nodes = Long.parseLong(value); n++; break;
+				case "movetime": moveTime = Long.parseLong(value); n++; break;
+				case "wtime": if (white) time = Long.parseLong(value); n++; break;
+				case "btime": if (!white) time = Long.parseLong(value); n++; break;
+				case "winc": if (white) increment = Long.parseLong(value); n++; break;
+				case "binc": if (!white) increment = Long.parseLong(value); n++; break;
+				case "movestogo": movesToGo = Integer.parseInt(value); n++; break;
+				case "infinite": infinite = true; break;
+				case "ponder": ponder = true; break;
+				default: break;
+			}
+		}
+		long timeLimit = moveTime > 0 ? moveTime : time > 0 ? getTimeForMove(time, increment, movesToGo) : 0;
+		// Durante o "ponder" a busca não tem tempo limite, que só passa a valer após o "ponderhit"
+		final long searchTime = ponder ? 0 : timeLimit;
+		final Board searchBoard = board;
+		final int searchDepth = depth;
+		final long searchNodes = nodes;
+		final Boolean searchIsInfinite = infinite;
+		stopRequested = false;
+		pondering = ponder;
+		ponderTimeMillis = timeLimit;
+		// Descarta o tempo de um "ponderhit" antigo. Um "ponderhit" que chegue antes da busca começar substitui este tempo
+		searcher.setTimeLimit(searchTime);
+		searchThread = new Thread(() -> search(searchBoard, searchDepth, searchTime, searchNodes, searchIsInfinite), "uci-search");
+		searchThread.setDaemon(true);
+		searchThread.start();
+	}
+
+	/**
+	 * Divide o tempo restante pelos lances que faltam (ou por 30, se não informado), somando
+	 * quase todo o incremento e deixando uma margem para a comunicação
+	 */
+	private static long getTimeForMove(long time, long increment, int movesToGo) {
+		long limit = time / (movesToGo > 0 ? movesToGo + 1 : 30) + increment * 3 / 4;
+		return Math.max(1, Math.min(limit, time - 50));
+	}
+
+	private void search(Board searchBoard, int depth, long timeLimit, long nodes, Boolean infinite) {
+		searcher.setListener(result -> {
+			// Um "stop" recebido antes da busca começar só é aplicado aqui, após a profundidade 1
+			if (stopRequested)
+				searcher.stop();
+			sendInfo(result);
+		});
+		AnalysisResult result;
+		try
+			{ result = searcher.analyse(searchBoard, depth, timeLimit, nodes, multiPv); }
+		catch (RuntimeException e) {
+			send("info string error " + e.getMessage());
+			send("bestmove 0000");
+			return;
+		}
+		// Em "go infinite" e "go ponder", o bestmove só pode ser enviado após o "stop" (ou o "ponderhit")
+		synchronized (this) {
+			while (!stopRequested && (infinite || pondering))
+				try
+					{ wait(); }
+				catch (InterruptedException e)
+					{ break; }
+		}
+		List<Move> pv = result.getBestLine().getPrincipalVariation();
+		send("bestmove " + pv.get(0) + (pv.size() > 1 ? " ponder " + pv.get(1) : ""));
+	}
+
+	/**
+	 * O adversário jogou o lance esperado: a busca continua, agora com o tempo calculado no {@code go ponder}.
+	 * Se a thread da busca ainda não tiver começado a análise, o {@code Searcher} aplica o tempo quando ela começar.
+	 */
+	private void ponderHit() {
+		if (searchThread == null)
+			return;
+		synchronized (this) {
+			pondering = false;
+			notifyAll();
+		}
+		if (ponderTimeMillis != 0)
+			searcher.setTimeLimit(ponderTimeMillis);
+	}
+
+	private void sendInfo(AnalysisResult result) {
+		long millis = result.getElapsedNanos() / 1000000;
+		long nps = result.getElapsedNanos() == 0 ? 0 : result.getNodes() * 1000000000L / result.getElapsedNanos();
+		List<AnalysisLine> lines = result.getLines();
+		for (int n = 0; n < lines.size(); n++) {
+			AnalysisLine line = lines.get(n);
+			StringBuilder sb = new StringBuilder("info depth ").append(result.getDepth())
+				.append(" multipv ").append(n + 1)
+				.append(" score ").append(line.isMate() ? "mate " + line.getMateIn() : "cp " + line.getScore())
+				.append(" nodes ").append(result.getNodes())
+				.append(" nps ").append(nps)
+				.append(" hashfull ").append(searcher.getTranspositionTable().getHashfull())
+				.append(" time ").append(millis)
+				.append(" pv");
+			for (Move move : line.getPrincipalVariation())
+				sb.append(' ').append(move);
+			send(sb.toString());
+		}
+	}
+
+	/**
+	 * Interrompe a busca em andamento (se houver) e espera o envio do bestmove
+	 */
+	private void stopSearch() {
+		if (searchThread == null)
+			return;
+		synchronized (this) {
+			stopRequested = true;
+			pondering = false;
+			notifyAll();
+		}
+		searcher.stop();
+		try
+			{ searchThread.join(); }
+		catch (InterruptedException e)
+			{ Thread.currentThread().interrupt(); }
+		searchThread = null;
+	}
+
+	/**
+	 * Coloca a linha na fila de saída, sem esperar pela escrita (pode ser chamado por qualquer thread)
+	 */
+	private void send(String line) {
+		if (!outputFailed)
+			outputQueue.add(line);
+	}
+
+	/**
+	 * Escreve as linhas da fila até receber {@code END_OF_OUTPUT}, esvaziando o buffer sempre que a fila fica vazia
+	 */
+	private void writeOutput() {
+		try {
+			for (String line = outputQueue.take(); line != END_OF_OUTPUT; line = outputQueue.take()) {
+				output.write(line);
+				output.write('\n');
+				if (outputQueue.isEmpty())
+					output.flush();
+			}
+			output.flush();
+		}
+		catch (IOException e) {
+			outputFailed = true;
+			outputQueue.clear();
+		}
+		catch (InterruptedException e)
+			{ Thread.currentThread().interrupt(); }
+	}
+
+	/**
+	 * Espera a escrita das linhas que ainda estão na fila
+	 */
+	private void finishOutput() {
+		outputQueue.add(END_OF_OUTPUT);
+		try
+			{ outputThread.join(); }
+		catch (InterruptedException e)
+			{ Thread.currentThread().interrupt(); }
+	}
+
+}
\ No newline at end of file